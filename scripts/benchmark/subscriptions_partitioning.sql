@@ -0,0 +1,152 @@
+-- Compares the plain and the hash-partitioned subscriptions layout on synthetic data.
+-- Builds both layouts side by side in a scratch schema, then prints query plans with timings,
+-- index depth and vacuum time for each. Nothing outside the bench_partitioning schema is touched.
+--
+-- Usage (defaults: 200000 users x 10 subscriptions):
+--   psql -d subscriptiondb -v users=2000000 -v per_user=10 -f scripts/benchmark/subscriptions_partitioning.sql
+-- Run it on hardware and settings close to production; numbers from a laptop say little about 100M+ rows.
+
+\set ON_ERROR_STOP on
+\if :{?users}
+\else
+    \set users 200000
+\endif
+\if :{?per_user}
+\else
+    \set per_user 10
+\endif
+
+CREATE EXTENSION IF NOT EXISTS pgstattuple;
+CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
+
+DROP SCHEMA IF EXISTS bench_partitioning CASCADE;
+CREATE SCHEMA bench_partitioning;
+SET search_path = bench_partitioning, public;
+
+\echo '== Generating data'
+\timing on
+
+CREATE TABLE users AS
+SELECT uuid_generate_v4() AS user_id
+FROM generate_series(1, :users);
+
+CREATE TABLE flat (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    price_amount DECIMAL(19, 2) NOT NULL,
+    price_currency VARCHAR(3) NOT NULL,
+    billing_cycle VARCHAR(20) NOT NULL,
+    next_payment_date DATE NOT NULL,
+    auto_renewal BOOLEAN NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO flat (id, user_id, name, price_amount, price_currency, billing_cycle,
+                  next_payment_date, auto_renewal, status)
+SELECT uuid_generate_v4(),
+       u.user_id,
+       'Subscription ' || n,
+       round((random() * 100)::numeric, 2),
+       (ARRAY['PLN', 'EUR', 'USD'])[1 + (random() * 2)::int],
+       (ARRAY['MONTHLY', 'YEARLY', 'TRIAL'])[1 + (random() * 2)::int],
+       current_date + (random() * 365)::int - 30,
+       random() < 0.8,
+       CASE WHEN random() < 0.85 THEN 'ACTIVE' ELSE 'CANCELLED' END
+FROM users u
+CROSS JOIN generate_series(1, :per_user) AS n;
+
+CREATE INDEX flat_status ON flat(status);
+CREATE INDEX flat_user_id_payment ON flat(user_id, next_payment_date, id);
+CREATE INDEX flat_user_id_status_payment ON flat(user_id, status, next_payment_date, id);
+CREATE INDEX flat_renewal_due ON flat(next_payment_date)
+    WHERE status = 'ACTIVE' AND auto_renewal = TRUE AND billing_cycle <> 'TRIAL';
+
+CREATE TABLE hashed (LIKE flat INCLUDING DEFAULTS, PRIMARY KEY (user_id, id)) PARTITION BY HASH (user_id);
+DO $$
+BEGIN
+    FOR remainder IN 0..31 LOOP
+        EXECUTE format('CREATE TABLE hashed_p%s PARTITION OF hashed FOR VALUES WITH (MODULUS 32, REMAINDER %s)',
+                       lpad(remainder::text, 2, '0'), remainder);
+    END LOOP;
+END $$;
+
+INSERT INTO hashed SELECT * FROM flat;
+
+CREATE INDEX hashed_id ON hashed(id);
+CREATE INDEX hashed_status ON hashed(status);
+CREATE INDEX hashed_user_id_payment ON hashed(user_id, next_payment_date, id);
+CREATE INDEX hashed_user_id_status_payment ON hashed(user_id, status, next_payment_date, id);
+CREATE INDEX hashed_renewal_due ON hashed(next_payment_date)
+    WHERE status = 'ACTIVE' AND auto_renewal = TRUE AND billing_cycle <> 'TRIAL';
+
+VACUUM ANALYZE flat;
+VACUUM ANALYZE hashed;
+
+-- One user and one of their subscriptions to query for
+SELECT user_id AS bench_user FROM users ORDER BY random() LIMIT 1 \gset
+SELECT id AS bench_id FROM flat WHERE user_id = :'bench_user' LIMIT 1 \gset
+
+\timing off
+
+\echo '== Listing page (keyset, ordered by next payment date)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM flat WHERE user_id = :'bench_user' ORDER BY next_payment_date, id LIMIT 51;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM hashed WHERE user_id = :'bench_user' ORDER BY next_payment_date, id LIMIT 51;
+
+\echo '== Active listing page'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM flat WHERE user_id = :'bench_user' AND status = 'ACTIVE' ORDER BY next_payment_date, id LIMIT 51;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM hashed WHERE user_id = :'bench_user' AND status = 'ACTIVE' ORDER BY next_payment_date, id LIMIT 51;
+
+\echo '== ETag aggregate'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT count(*), sum(version), max(updated_at) FROM flat WHERE user_id = :'bench_user';
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT count(*), sum(version), max(updated_at) FROM hashed WHERE user_id = :'bench_user';
+
+\echo '== Lock by user and id (save, cancel)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM flat WHERE user_id = :'bench_user' AND id = :'bench_id' FOR UPDATE;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM hashed WHERE user_id = :'bench_user' AND id = :'bench_id' FOR UPDATE;
+
+\echo '== Lookup by id only (findById) - probes every partition'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM flat WHERE id = :'bench_id';
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM hashed WHERE id = :'bench_id';
+
+\echo '== Renewal job scan'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT id, user_id FROM flat
+WHERE status = 'ACTIVE' AND auto_renewal = TRUE AND billing_cycle <> 'TRIAL' AND next_payment_date < current_date
+ORDER BY next_payment_date LIMIT 500;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT id, user_id FROM hashed
+WHERE status = 'ACTIVE' AND auto_renewal = TRUE AND billing_cycle <> 'TRIAL' AND next_payment_date < current_date
+ORDER BY next_payment_date LIMIT 500;
+
+\echo '== B-tree depth of the listing index (tree_level 0 = root only)'
+SELECT 'flat' AS layout, tree_level, leaf_pages
+FROM pgstatindex('flat_user_id_payment')
+UNION ALL
+SELECT 'hashed, deepest partition', max(s.tree_level), max(s.leaf_pages)
+FROM pg_inherits i
+CROSS JOIN LATERAL pgstatindex(i.inhrelid::regclass) s
+WHERE i.inhparent = 'hashed_user_id_payment'::regclass;
+
+\echo '== Vacuum after touching 5% of rows: whole flat table vs one partition'
+UPDATE flat SET version = version + 1 WHERE random() < 0.05;
+UPDATE hashed SET version = version + 1 WHERE random() < 0.05;
+\timing on
+VACUUM flat;
+VACUUM hashed_p00;
+\timing off
+
+\echo 'Done. Drop the scratch data with: DROP SCHEMA bench_partitioning CASCADE;'
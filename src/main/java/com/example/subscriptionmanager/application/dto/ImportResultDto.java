@@ -0,0 +1,22 @@
+package com.example.subscriptionmanager.application.dto;
+
+import java.util.List;
+
+/**
+ * DTO for the outcome of a bulk import.
+ * errors lists at most the first rejected rows, failed counts all of them.
+ */
+public record ImportResultDto(
+        long imported,
+        long failed,
+        List<RowError> errors
+) {
+    /**
+     * Reason a row was rejected; rows are numbered from 1, not counting a header.
+     */
+    public record RowError(
+            long row,
+            String message
+    ) {
+    }
+}
@@ -2,9 +2,11 @@ package com.example.subscriptionmanager.application.dto;
 
 /**
  * DTO for monthly cost calculation result.
+ * ratesAgeSeconds is the age of the rates the amount was converted with, null when the provider does not track it.
  */
 public record MonthlyCostDto(
         Double amount,
-        String currency
+        String currency,
+        Long ratesAgeSeconds
 ) {
 }
@@ -0,0 +1,27 @@
+package com.example.subscriptionmanager.application.dto;
+
+import java.util.List;
+
+/**
+ * DTO for the monthly spend report across all users.
+ * ratesAgeSeconds is the age of the rates behind every monthlyCost, null if unknown.
+ */
+public record SpendReportDto(
+        Double monthlyTotal,
+        String currency,
+        List<SpendGroup> groups,
+        Long ratesAgeSeconds
+) {
+    /**
+     * Spend of all active subscriptions sharing a price currency and billing cycle.
+     * monthlyCost is expressed in the report currency.
+     */
+    public record SpendGroup(
+            String priceCurrency,
+            String billingCycle,
+            Long subscriptionCount,
+            Double totalPrice,
+            Double monthlyCost
+    ) {
+    }
+}
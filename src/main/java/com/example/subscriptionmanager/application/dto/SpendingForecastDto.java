@@ -0,0 +1,22 @@
+package com.example.subscriptionmanager.application.dto;
+
+import java.util.List;
+
+/**
+ * DTO for a month-by-month spending forecast.
+ * Every month is converted with the same rates; ratesAgeSeconds is their age, null if unknown.
+ */
+public record SpendingForecastDto(
+        String currency,
+        List<MonthlySpending> months,
+        Long ratesAgeSeconds
+) {
+    /**
+     * Cash outflow in one month, month formatted as yyyy-MM.
+     */
+    public record MonthlySpending(
+            String month,
+            Double amount
+    ) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.subscriptionmanager.application.dto;
+
+/**
+ * One row of a bulk import, as raw text.
+ * Parsed and validated by the import use case, so bad rows are reported instead of rejected as a batch.
+ */
+public record SubscriptionImportRow(
+        String name,
+        String price,
+        String currency,
+        String billingCycle,
+        String nextPaymentDate,
+        String autoRenewal
+) {
+}
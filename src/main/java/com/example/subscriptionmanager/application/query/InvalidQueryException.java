@@ -0,0 +1,12 @@
+package com.example.subscriptionmanager.application.query;
+
+/**
+ * Thrown when a client sends a query parameter that cannot be used, such as an unknown filter value,
+ * a malformed cursor or an unsupported export format. The message is safe to return to the client.
+ */
+public class InvalidQueryException extends IllegalArgumentException {
+
+    public InvalidQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.subscriptionmanager.application.query;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Keyset position in a listing ordered by next payment date, then id.
+ * Travels to clients as an opaque URL-safe token.
+ */
+public record SubscriptionCursor(LocalDate nextPaymentDate, UUID subscriptionId) {
+    private static final String SEPARATOR = "|";
+
+    public SubscriptionCursor {
+        Objects.requireNonNull(nextPaymentDate, "Next payment date cannot be null");
+        Objects.requireNonNull(subscriptionId, "Subscription id cannot be null");
+    }
+
+    public static SubscriptionCursor after(SubscriptionView view) {
+        return new SubscriptionCursor(view.nextPaymentDate(), view.subscriptionId());
+    }
+
+    public String encode() {
+        String raw = nextPaymentDate + SEPARATOR + subscriptionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SubscriptionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new SubscriptionCursor(
+                    LocalDate.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidQueryException("Invalid cursor: " + token);
+        }
+    }
+}
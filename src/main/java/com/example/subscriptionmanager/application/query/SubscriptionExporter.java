@@ -0,0 +1,21 @@
+package com.example.subscriptionmanager.application.query;
+
+import com.example.subscriptionmanager.domain.model.UserId;
+
+import java.io.OutputStream;
+
+/**
+ * Writes subscriptions to an output stream in an export format.
+ * Implementations stream rows rather than loading them, so exports of any size run in flat memory.
+ */
+public interface SubscriptionExporter {
+    /**
+     * Exports one user's subscriptions.
+     */
+    void exportForUser(UserId userId, ExportFormat format, OutputStream output);
+
+    /**
+     * Exports every subscription in the system.
+     */
+    void exportAll(ExportFormat format, OutputStream output);
+}
@@ -0,0 +1,24 @@
+package com.example.subscriptionmanager.application.query;
+
+import java.time.LocalDate;
+
+/**
+ * Optional filters for subscription listings. Null fields do not filter.
+ * status and billingCycle hold domain enum names, currency an ISO 4217 code,
+ * and the payment date range is inclusive on both ends.
+ */
+public record SubscriptionFilter(
+        String status,
+        String billingCycle,
+        String currency,
+        LocalDate paymentFrom,
+        LocalDate paymentTo
+) {
+    public static SubscriptionFilter none() {
+        return new SubscriptionFilter(null, null, null, null, null);
+    }
+
+    public SubscriptionFilter withStatus(String status) {
+        return new SubscriptionFilter(status, billingCycle, currency, paymentFrom, paymentTo);
+    }
+}
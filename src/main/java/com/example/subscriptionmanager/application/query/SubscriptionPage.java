@@ -0,0 +1,13 @@
+package com.example.subscriptionmanager.application.query;
+
+import java.util.List;
+
+/**
+ * One page of a subscription listing.
+ * nextCursor is passed back to fetch the following page, or is null on the last page.
+ */
+public record SubscriptionPage(
+        List<SubscriptionView> items,
+        String nextCursor
+) {
+}
@@ -0,0 +1,23 @@
+package com.example.subscriptionmanager.application.query;
+
+import com.example.subscriptionmanager.domain.model.UserId;
+
+import java.util.List;
+
+/**
+ * Read-side queries for subscriptions.
+ * Returns read models instead of domain objects, for paths that only display data.
+ */
+public interface SubscriptionQueryRepository {
+    /**
+     * Finds a user's subscriptions matching the filter, ordered by next payment date, then id.
+     * @param after position to continue after, or null to start from the beginning
+     * @param limit maximum number of rows to return
+     */
+    List<SubscriptionView> findPage(UserId userId, SubscriptionFilter filter, SubscriptionCursor after, int limit);
+
+    /**
+     * Summarises a user's subscriptions into a version that changes whenever any of them does.
+     */
+    SubscriptionsVersion findVersion(UserId userId);
+}
@@ -0,0 +1,22 @@
+package com.example.subscriptionmanager.application.query;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Read model of a subscription, selected straight from the database for listings.
+ * Serializes to the same JSON as SubscriptionResponse, so it is returned as is.
+ */
+public record SubscriptionView(
+        UUID subscriptionId,
+        UUID userId,
+        String name,
+        BigDecimal price,
+        String currency,
+        String billingCycle,
+        LocalDate nextPaymentDate,
+        Boolean autoRenewal,
+        String status
+) {
+}
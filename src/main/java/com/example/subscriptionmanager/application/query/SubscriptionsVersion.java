@@ -0,0 +1,21 @@
+package com.example.subscriptionmanager.application.query;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap fingerprint of all of a user's subscriptions.
+ * Any insert, update or delete changes at least one of the parts.
+ */
+public record SubscriptionsVersion(
+        long count,
+        long versionSum,
+        LocalDateTime lastUpdatedAt
+) {
+    /**
+     * Formats the fingerprint as an opaque entity tag value, without quotes.
+     */
+    public String toETag() {
+        String updated = lastUpdatedAt == null ? "0" : lastUpdatedAt.toString();
+        return count + "-" + versionSum + "-" + updated;
+    }
+}
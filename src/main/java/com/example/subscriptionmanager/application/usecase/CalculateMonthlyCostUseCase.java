@@ -3,7 +3,7 @@ package com.example.subscriptionmanager.application.usecase;
 import com.example.subscriptionmanager.application.dto.MonthlyCostDto;
 import com.example.subscriptionmanager.domain.exchange.ExchangeRateProvider;
 import com.example.subscriptionmanager.domain.model.Money;
-import com.example.subscriptionmanager.domain.model.Subscription;
+import com.example.subscriptionmanager.domain.model.SubscriptionCostGroup;
 import com.example.subscriptionmanager.domain.model.UserId;
 import com.example.subscriptionmanager.domain.repository.SubscriptionRepository;
 import com.example.subscriptionmanager.domain.service.BillingService;
@@ -17,25 +17,41 @@ import java.util.UUID;
  */
 public class CalculateMonthlyCostUseCase {
     private final SubscriptionRepository subscriptionRepository;
+    private final ExchangeRateProvider exchangeRateProvider;
     private final BillingService billingService;
+    private final Currency baseCurrency;
 
     public CalculateMonthlyCostUseCase(
             SubscriptionRepository subscriptionRepository,
             ExchangeRateProvider exchangeRateProvider,
             Currency baseCurrency) {
         this.subscriptionRepository = subscriptionRepository;
+        this.exchangeRateProvider = exchangeRateProvider;
         this.billingService = new BillingService(exchangeRateProvider, baseCurrency);
+        this.baseCurrency = baseCurrency;
     }
 
     public MonthlyCostDto execute(String userIdString) {
+        return execute(userIdString, null);
+    }
+
+    /**
+     * Calculates monthly cost in the requested currency, or in the base currency when none is given.
+     */
+    public MonthlyCostDto execute(String userIdString, String currencyCode) {
         UserId userId = new UserId(UUID.fromString(userIdString));
-        List<Subscription> subscriptions = subscriptionRepository.findActiveByUserId(userId);
-        
-        Money monthlyCost = billingService.calculateMonthlyCost(subscriptions);
+        // Summed in the database, so only a few group rows are loaded
+        List<SubscriptionCostGroup> costGroups = subscriptionRepository.findActiveCostGroupsByUserId(userId);
+
+        Currency targetCurrency = currencyCode == null
+                ? baseCurrency
+                : Currency.getInstance(currencyCode.toUpperCase());
+        Money monthlyCost = billingService.calculateMonthlyCostFromGroups(costGroups, targetCurrency);
         
         return new MonthlyCostDto(
                 monthlyCost.getAmount().doubleValue(),
-                monthlyCost.getCurrencyCode()
+                monthlyCost.getCurrencyCode(),
+                exchangeRateProvider.getRatesAgeSeconds()
         );
     }
 }
@@ -1,10 +1,15 @@
 package com.example.subscriptionmanager.application.usecase;
 
+import com.example.subscriptionmanager.domain.model.CancellationResult;
 import com.example.subscriptionmanager.domain.model.SubscriptionId;
+import com.example.subscriptionmanager.domain.model.UserId;
 import com.example.subscriptionmanager.domain.repository.SubscriptionRepository;
 
+import java.util.UUID;
+
 /**
  * Use case for cancelling a subscription.
+ * Only the owner can cancel, and only while the subscription is active.
  */
 public class CancelSubscriptionUseCase {
     private final SubscriptionRepository subscriptionRepository;
@@ -13,13 +18,10 @@ public class CancelSubscriptionUseCase {
         this.subscriptionRepository = subscriptionRepository;
     }
 
-    public void execute(String subscriptionIdString) {
-        SubscriptionId subscriptionId = new SubscriptionId(java.util.UUID.fromString(subscriptionIdString));
-        
-        var subscription = subscriptionRepository.findById(subscriptionId)
-                .orElseThrow(() -> new IllegalArgumentException("Subscription not found: " + subscriptionIdString));
+    public CancellationResult execute(String userIdString, String subscriptionIdString) {
+        UserId userId = new UserId(UUID.fromString(userIdString));
+        SubscriptionId subscriptionId = new SubscriptionId(UUID.fromString(subscriptionIdString));
 
-        subscription.cancel();
-        subscriptionRepository.save(subscription);
+        return subscriptionRepository.cancel(subscriptionId, userId);
     }
 }
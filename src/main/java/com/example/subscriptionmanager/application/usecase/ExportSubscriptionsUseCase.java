@@ -0,0 +1,33 @@
+package com.example.subscriptionmanager.application.usecase;
+
+import com.example.subscriptionmanager.application.query.ExportFormat;
+import com.example.subscriptionmanager.application.query.SubscriptionExporter;
+import com.example.subscriptionmanager.domain.model.UserId;
+
+import java.io.OutputStream;
+import java.util.UUID;
+
+/**
+ * Use case for exporting subscriptions as a file.
+ * Callers resolve the format first, so an unknown one is rejected before any output is written.
+ */
+public class ExportSubscriptionsUseCase {
+    private final SubscriptionExporter subscriptionExporter;
+
+    public ExportSubscriptionsUseCase(SubscriptionExporter subscriptionExporter) {
+        this.subscriptionExporter = subscriptionExporter;
+    }
+
+    public ExportFormat format(String formatName) {
+        return ExportFormat.parse(formatName);
+    }
+
+    public void exportForUser(String userIdString, ExportFormat format, OutputStream output) {
+        UserId userId = new UserId(UUID.fromString(userIdString));
+        subscriptionExporter.exportForUser(userId, format, output);
+    }
+
+    public void exportAll(ExportFormat format, OutputStream output) {
+        subscriptionExporter.exportAll(format, output);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.subscriptionmanager.application.usecase;
+
+import com.example.subscriptionmanager.application.dto.SpendingForecastDto;
+import com.example.subscriptionmanager.domain.exchange.ExchangeRateProvider;
+import com.example.subscriptionmanager.domain.model.Money;
+import com.example.subscriptionmanager.domain.model.Subscription;
+import com.example.subscriptionmanager.domain.model.UserId;
+import com.example.subscriptionmanager.domain.repository.SubscriptionRepository;
+import com.example.subscriptionmanager.domain.service.BillingService;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Use case for forecasting spending over the next months, starting with the current one.
+ */
+public class ForecastSpendingUseCase {
+    public static final int MAX_MONTHS = 120;
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final ExchangeRateProvider exchangeRateProvider;
+    private final BillingService billingService;
+    private final Currency baseCurrency;
+
+    public ForecastSpendingUseCase(
+            SubscriptionRepository subscriptionRepository,
+            ExchangeRateProvider exchangeRateProvider,
+            Currency baseCurrency) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.exchangeRateProvider = exchangeRateProvider;
+        this.billingService = new BillingService(exchangeRateProvider, baseCurrency);
+        this.baseCurrency = baseCurrency;
+    }
+
+    /**
+     * Forecasts spending for the given number of months in the requested currency,
+     * or in the base currency when none is given.
+     */
+    public SpendingForecastDto execute(String userIdString, int months, String currencyCode) {
+        if (months < 1 || months > MAX_MONTHS) {
+            throw new IllegalArgumentException("Forecast horizon must be between 1 and " + MAX_MONTHS + " months");
+        }
+
+        UserId userId = new UserId(UUID.fromString(userIdString));
+        List<Subscription> subscriptions = subscriptionRepository.findActiveByUserId(userId);
+
+        Currency targetCurrency = currencyCode == null
+                ? baseCurrency
+                : Currency.getInstance(currencyCode.toUpperCase());
+        YearMonth firstMonth = YearMonth.now();
+        List<Money> totals = billingService.forecastSpending(subscriptions, firstMonth, months, targetCurrency);
+
+        List<SpendingForecastDto.MonthlySpending> monthlySpending = new ArrayList<>(totals.size());
+        for (int i = 0; i < totals.size(); i++) {
+            monthlySpending.add(new SpendingForecastDto.MonthlySpending(
+                    firstMonth.plusMonths(i).toString(),
+                    totals.get(i).getAmount().doubleValue()));
+        }
+
+        return new SpendingForecastDto(
+                targetCurrency.getCurrencyCode(),
+                monthlySpending,
+                exchangeRateProvider.getRatesAgeSeconds()
+        );
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.subscriptionmanager.application.usecase;
+
+import com.example.subscriptionmanager.application.dto.SpendReportDto;
+import com.example.subscriptionmanager.domain.exchange.ExchangeRateProvider;
+import com.example.subscriptionmanager.domain.model.Money;
+import com.example.subscriptionmanager.domain.model.SubscriptionCostGroup;
+import com.example.subscriptionmanager.domain.repository.SubscriptionCostReportRepository;
+import com.example.subscriptionmanager.domain.service.BillingService;
+
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.List;
+
+/**
+ * Use case for the admin report of total monthly spend across all users.
+ */
+public class GenerateSpendReportUseCase {
+    private final SubscriptionCostReportRepository reportRepository;
+    private final ExchangeRateProvider exchangeRateProvider;
+    private final BillingService billingService;
+    private final Currency baseCurrency;
+
+    public GenerateSpendReportUseCase(
+            SubscriptionCostReportRepository reportRepository,
+            ExchangeRateProvider exchangeRateProvider,
+            Currency baseCurrency) {
+        this.reportRepository = reportRepository;
+        this.exchangeRateProvider = exchangeRateProvider;
+        this.billingService = new BillingService(exchangeRateProvider, baseCurrency);
+        this.baseCurrency = baseCurrency;
+    }
+
+    /**
+     * Builds the report in the requested currency, or in the base currency when none is given.
+     */
+    public SpendReportDto execute(String currencyCode) {
+        Currency targetCurrency = currencyCode == null
+                ? baseCurrency
+                : Currency.getInstance(currencyCode.toUpperCase());
+        List<SubscriptionCostGroup> costGroups = reportRepository.sumActiveCostGroups();
+
+        // Same per-group semantics as a single user's monthly cost
+        Money monthlyTotal = billingService.calculateMonthlyCostFromGroups(costGroups, targetCurrency);
+        List<SpendReportDto.SpendGroup> groups = costGroups.stream()
+                .sorted(Comparator
+                        .comparing((SubscriptionCostGroup group) -> group.getTotalPrice().getCurrencyCode())
+                        .thenComparing(SubscriptionCostGroup::getBillingCycle))
+                .map(group -> new SpendReportDto.SpendGroup(
+                        group.getTotalPrice().getCurrencyCode(),
+                        group.getBillingCycle().name(),
+                        group.getSubscriptionCount(),
+                        group.getTotalPrice().getAmount().doubleValue(),
+                        billingService.calculateMonthlyCostFromGroups(List.of(group), targetCurrency)
+                                .getAmount().doubleValue()))
+                .toList();
+
+        return new SpendReportDto(
+                monthlyTotal.getAmount().doubleValue(),
+                targetCurrency.getCurrencyCode(),
+                groups,
+                exchangeRateProvider.getRatesAgeSeconds()
+        );
+    }
+}
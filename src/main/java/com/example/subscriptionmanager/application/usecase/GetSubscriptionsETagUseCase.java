@@ -0,0 +1,59 @@
+package com.example.subscriptionmanager.application.usecase;
+
+import com.example.subscriptionmanager.application.query.SubscriptionQueryRepository;
+import com.example.subscriptionmanager.domain.exchange.ExchangeRateProvider;
+import com.example.subscriptionmanager.domain.model.UserId;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Use case for computing ETags of a user's subscription resources.
+ * Reads a single aggregate row, so a revalidation never loads the subscriptions themselves.
+ * Can be disabled where the database lags the state responses are built from, e.g. under write-behind,
+ * since a tag computed from older data would keep answering 304 for a changed resource.
+ */
+public class GetSubscriptionsETagUseCase {
+    private final SubscriptionQueryRepository subscriptionQueryRepository;
+    private final ExchangeRateProvider exchangeRateProvider;
+    private final boolean enabled;
+
+    public GetSubscriptionsETagUseCase(
+            SubscriptionQueryRepository subscriptionQueryRepository,
+            ExchangeRateProvider exchangeRateProvider,
+            boolean enabled) {
+        this.subscriptionQueryRepository = subscriptionQueryRepository;
+        this.exchangeRateProvider = exchangeRateProvider;
+        this.enabled = enabled;
+    }
+
+    /**
+     * ETag for subscription listings. Query parameters are part of the URL, so they are not included.
+     * @return the tag, or empty when ETags are disabled
+     */
+    public Optional<String> forListing(String userIdString) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.of("s" + versionOf(userIdString));
+    }
+
+    /**
+     * ETag for the monthly cost, which also changes when new exchange rates are served.
+     * @return the tag, or empty when ETags are disabled
+     */
+    public Optional<String> forMonthlyCost(String userIdString) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String rates = exchangeRateProvider.getRatesFetchedAt()
+                .map(fetchedAt -> String.valueOf(fetchedAt.toEpochMilli()))
+                .orElse("0");
+        return Optional.of("c" + versionOf(userIdString) + "-" + rates);
+    }
+
+    private String versionOf(String userIdString) {
+        UserId userId = new UserId(UUID.fromString(userIdString));
+        return subscriptionQueryRepository.findVersion(userId).toETag();
+    }
+}
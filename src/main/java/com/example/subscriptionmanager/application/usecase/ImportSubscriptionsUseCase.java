@@ -0,0 +1,136 @@
+package com.example.subscriptionmanager.application.usecase;
+
+import com.example.subscriptionmanager.application.dto.ImportResultDto;
+import com.example.subscriptionmanager.application.dto.SubscriptionImportRow;
+import com.example.subscriptionmanager.domain.model.*;
+import com.example.subscriptionmanager.domain.repository.SubscriptionRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Use case for importing many subscriptions at once.
+ * Validates rows as they stream in and inserts valid ones in chunks, each committed on its own.
+ * Invalid rows are reported and skipped without failing the rest of the batch.
+ */
+public class ImportSubscriptionsUseCase {
+    public static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    // Limits of the subscriptions columns, so a row that does not fit is reported instead of failing its chunk
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_PRICE_INTEGER_DIGITS = 17;
+
+    private final SubscriptionRepository subscriptionRepository;
+
+    public ImportSubscriptionsUseCase(SubscriptionRepository subscriptionRepository) {
+        this.subscriptionRepository = subscriptionRepository;
+    }
+
+    /**
+     * Imports rows for a user. The iterator may throw IllegalArgumentException for a row it cannot read,
+     * which is reported against that row.
+     */
+    public ImportResultDto execute(String userIdString, Iterator<SubscriptionImportRow> rows) {
+        UserId userId = new UserId(UUID.fromString(userIdString));
+        List<Subscription> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<ImportResultDto.RowError> errors = new ArrayList<>();
+        long imported = 0;
+        long failed = 0;
+        long rowNumber = 0;
+
+        while (rows.hasNext()) {
+            rowNumber++;
+            try {
+                chunk.add(toSubscription(userId, rows.next()));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                failed++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new ImportResultDto.RowError(rowNumber, e.getMessage()));
+                }
+            }
+
+            if (chunk.size() == CHUNK_SIZE) {
+                imported += insert(chunk);
+            }
+        }
+        imported += insert(chunk);
+
+        return new ImportResultDto(imported, failed, errors);
+    }
+
+    private int insert(List<Subscription> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        subscriptionRepository.insertAll(chunk);
+        int inserted = chunk.size();
+        chunk.clear();
+        return inserted;
+    }
+
+    private Subscription toSubscription(UserId userId, SubscriptionImportRow row) {
+        String name = required(row.name(), "name");
+        Money price = new Money(
+                new BigDecimal(required(row.price(), "price")),
+                currency(required(row.currency(), "currency")));
+        BillingCycle billingCycle = BillingCycle.valueOf(required(row.billingCycle(), "billingCycle").toUpperCase());
+        LocalDate nextPaymentDate = LocalDate.parse(required(row.nextPaymentDate(), "nextPaymentDate"));
+        boolean autoRenewal = autoRenewal(row.autoRenewal());
+
+        // Same validation as a single subscription created through the API
+        Subscription subscription = Subscription.create(
+                SubscriptionId.newId(),
+                userId,
+                name,
+                price,
+                billingCycle,
+                nextPaymentDate,
+                autoRenewal
+        );
+
+        if (name.codePointCount(0, name.length()) > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("name must be at most " + MAX_NAME_LENGTH + " characters");
+        }
+        BigDecimal amount = price.getAmount();
+        if (amount.precision() - amount.scale() > MAX_PRICE_INTEGER_DIGITS) {
+            throw new IllegalArgumentException("price must have at most " + MAX_PRICE_INTEGER_DIGITS + " integer digits");
+        }
+        return subscription;
+    }
+
+    private Currency currency(String code) {
+        try {
+            return Currency.getInstance(code.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            // Currency.getInstance throws without a message
+            throw new IllegalArgumentException("Unknown currency: " + code);
+        }
+    }
+
+    private boolean autoRenewal(String value) {
+        if (value == null || value.isBlank()) {
+            return true;
+        }
+        String trimmed = value.trim();
+        if (trimmed.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (trimmed.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException("autoRenewal must be true or false: " + value);
+    }
+
+    private String required(String value, String field) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        return value.trim();
+    }
+}
@@ -1,52 +1,85 @@
 package com.example.subscriptionmanager.application.usecase;
 
-import com.example.subscriptionmanager.application.dto.SubscriptionDto;
-import com.example.subscriptionmanager.domain.model.Subscription;
+import com.example.subscriptionmanager.application.query.InvalidQueryException;
+import com.example.subscriptionmanager.application.query.SubscriptionCursor;
+import com.example.subscriptionmanager.application.query.SubscriptionFilter;
+import com.example.subscriptionmanager.application.query.SubscriptionPage;
+import com.example.subscriptionmanager.application.query.SubscriptionQueryRepository;
+import com.example.subscriptionmanager.application.query.SubscriptionView;
+import com.example.subscriptionmanager.domain.model.BillingCycle;
+import com.example.subscriptionmanager.domain.model.SubscriptionStatus;
 import com.example.subscriptionmanager.domain.model.UserId;
-import com.example.subscriptionmanager.domain.repository.SubscriptionRepository;
 
+import java.util.Currency;
 import java.util.List;
 import java.util.UUID;
 
 /**
  * Use case for listing user subscriptions.
+ * Reads projections straight from the query side, with no domain objects in between,
+ * one keyset page at a time.
  */
 public class ListSubscriptionsUseCase {
-    private final SubscriptionRepository subscriptionRepository;
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
 
-    public ListSubscriptionsUseCase(SubscriptionRepository subscriptionRepository) {
-        this.subscriptionRepository = subscriptionRepository;
+    private final SubscriptionQueryRepository subscriptionQueryRepository;
+
+    public ListSubscriptionsUseCase(SubscriptionQueryRepository subscriptionQueryRepository) {
+        this.subscriptionQueryRepository = subscriptionQueryRepository;
     }
 
-    public List<SubscriptionDto> execute(String userIdString) {
+    public SubscriptionPage execute(String userIdString, SubscriptionFilter filter, String cursor, Integer limit) {
         UserId userId = new UserId(UUID.fromString(userIdString));
-        List<Subscription> subscriptions = subscriptionRepository.findByUserId(userId);
-        
-        return subscriptions.stream()
-                .map(this::toDto)
-                .toList();
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new InvalidQueryException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        SubscriptionCursor after = cursor == null || cursor.isBlank() ? null : SubscriptionCursor.decode(cursor);
+
+        // Fetch one extra row to know whether another page follows
+        List<SubscriptionView> rows = subscriptionQueryRepository.findPage(userId, normalize(filter), after, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new SubscriptionPage(rows, null);
+        }
+
+        List<SubscriptionView> items = rows.subList(0, pageSize);
+        return new SubscriptionPage(items, SubscriptionCursor.after(items.get(pageSize - 1)).encode());
     }
 
-    public List<SubscriptionDto> executeActive(String userIdString) {
-        UserId userId = new UserId(UUID.fromString(userIdString));
-        List<Subscription> subscriptions = subscriptionRepository.findActiveByUserId(userId);
-        
-        return subscriptions.stream()
-                .map(this::toDto)
-                .toList();
+    public SubscriptionPage executeActive(String userIdString, SubscriptionFilter filter, String cursor, Integer limit) {
+        return execute(userIdString, filter.withStatus(SubscriptionStatus.ACTIVE.name()), cursor, limit);
     }
 
-    private SubscriptionDto toDto(Subscription subscription) {
-        return new SubscriptionDto(
-                subscription.getSubscriptionId().getValue().toString(),
-                subscription.getUserId().getValue().toString(),
-                subscription.getName(),
-                subscription.getPrice().getAmount().doubleValue(),
-                subscription.getPrice().getCurrencyCode(),
-                subscription.getBillingCycle().name(),
-                subscription.getNextPaymentDate(),
-                subscription.isAutoRenewal(),
-                subscription.getStatus().name()
+    private SubscriptionFilter normalize(SubscriptionFilter filter) {
+        if (filter.paymentFrom() != null && filter.paymentTo() != null
+                && filter.paymentFrom().isAfter(filter.paymentTo())) {
+            throw new InvalidQueryException("Payment date range is empty");
+        }
+
+        return new SubscriptionFilter(
+                filter.status() == null ? null : enumName(SubscriptionStatus.class, "status", filter.status()),
+                filter.billingCycle() == null ? null : enumName(BillingCycle.class, "billing cycle", filter.billingCycle()),
+                filter.currency() == null ? null : currencyCode(filter.currency()),
+                filter.paymentFrom(),
+                filter.paymentTo()
         );
     }
+
+    private static <E extends Enum<E>> String enumName(Class<E> type, String field, String value) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase()).name();
+        } catch (IllegalArgumentException e) {
+            throw new InvalidQueryException("Unknown " + field + ": " + value);
+        }
+    }
+
+    private static String currencyCode(String value) {
+        try {
+            return Currency.getInstance(value.toUpperCase()).getCurrencyCode();
+        } catch (IllegalArgumentException e) {
+            throw new InvalidQueryException("Unknown currency: " + value);
+        }
+    }
 }
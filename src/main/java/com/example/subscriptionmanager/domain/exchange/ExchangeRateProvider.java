@@ -2,7 +2,14 @@ package com.example.subscriptionmanager.domain.exchange;
 
 import com.example.subscriptionmanager.domain.model.Money;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -18,6 +25,54 @@ public interface ExchangeRateProvider {
      */
     Optional<Double> getExchangeRate(Currency fromCurrency, Currency toCurrency);
 
+    /**
+     * Gets exchange rate as a primitive, for hot loops that should not box or allocate.
+     * Providers holding rates in memory should override it with a direct lookup.
+     * @param fromCurrency source currency
+     * @param toCurrency target currency
+     * @return exchange rate or NaN if it is not known
+     */
+    default double getExchangeRateOrNaN(Currency fromCurrency, Currency toCurrency) {
+        return getExchangeRate(fromCurrency, toCurrency).orElse(Double.NaN);
+    }
+
+    /**
+     * Gets exchange rate that applied on a given date, e.g. the date of a payment.
+     * Providers without rate history fall back to the current rate.
+     * @param fromCurrency source currency
+     * @param toCurrency target currency
+     * @param date date the rate should apply on
+     * @return exchange rate (how many units of toCurrency per 1 unit of fromCurrency)
+     */
+    default Optional<Double> getExchangeRate(Currency fromCurrency, Currency toCurrency, LocalDate date) {
+        return getExchangeRate(fromCurrency, toCurrency);
+    }
+
+    /**
+     * Gets how long ago the rates currently being served were fetched from their source.
+     * @return age of the served rates or empty if the provider does not track it
+     */
+    default Optional<Duration> getRatesAge() {
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the age of the served rates in whole seconds, the form responses report it in.
+     * @return age in seconds or null if the provider does not track it
+     */
+    default Long getRatesAgeSeconds() {
+        return getRatesAge().map(Duration::toSeconds).orElse(null);
+    }
+
+    /**
+     * Gets when the rates currently being served were fetched, without loading them if none are.
+     * Changes whenever a different table starts being served.
+     * @return fetch time of the served rates or empty if none are loaded or the provider does not track it
+     */
+    default Optional<Instant> getRatesFetchedAt() {
+        return Optional.empty();
+    }
+
     /**
      * Converts money from one currency to another.
      * @param money money to convert
@@ -28,8 +83,38 @@ public interface ExchangeRateProvider {
         if (money.getCurrency().equals(targetCurrency)) {
             return Optional.of(money);
         }
-        
-        return getExchangeRate(money.getCurrency(), targetCurrency)
-                .map(rate -> new Money(money.getAmount().multiply(java.math.BigDecimal.valueOf(rate)), targetCurrency));
+
+        double rate = getExchangeRateOrNaN(money.getCurrency(), targetCurrency);
+        if (Double.isNaN(rate)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new Money(money.getAmount().multiply(BigDecimal.valueOf(rate)), targetCurrency));
+    }
+
+    /**
+     * Converts a batch of amounts to one currency and sums them up.
+     * Amounts are grouped by source currency first, so each rate is resolved once per batch.
+     * Providers can override it to serve the whole batch from a single rate lookup.
+     * @param amounts amounts to convert, in any currencies
+     * @param targetCurrency target currency
+     * @return converted total or empty if any of the currencies cannot be converted
+     */
+    default Optional<Money> sumConverted(Collection<Money> amounts, Currency targetCurrency) {
+        Map<Currency, BigDecimal> totals = new LinkedHashMap<>();
+        for (Money amount : amounts) {
+            totals.merge(amount.getCurrency(), amount.getAmount(), BigDecimal::add);
+        }
+
+        BigDecimal sum = BigDecimal.ZERO;
+        for (Map.Entry<Currency, BigDecimal> group : totals.entrySet()) {
+            Optional<Money> converted = convert(new Money(group.getValue(), group.getKey()), targetCurrency);
+            if (converted.isEmpty()) {
+                return Optional.empty();
+            }
+            sum = sum.add(converted.get().getAmount());
+        }
+
+        return Optional.of(new Money(sum, targetCurrency));
     }
 }
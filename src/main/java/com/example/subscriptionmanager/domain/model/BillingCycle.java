@@ -1,5 +1,8 @@
 package com.example.subscriptionmanager.domain.model;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
 /**
  * Enum representing billing cycles for subscriptions.
  * Implements Strategy pattern for different billing calculations.
@@ -34,4 +37,41 @@ public enum BillingCycle {
         }
         return totalCost;
     }
+
+    /**
+     * Calculates monthly cost in minor units (hundredths) with exact integer arithmetic.
+     * Rounds half up to the nearest minor unit, without going through double.
+     */
+    public long calculateMonthlyMinorUnits(long totalMinorUnits) {
+        if (this == TRIAL) {
+            return 0L;
+        }
+        if (months == 1) {
+            return totalMinorUnits;
+        }
+        if (totalMinorUnits < 0) {
+            throw new IllegalArgumentException("Cost cannot be negative");
+        }
+        // floor((2 * total + months) / (2 * months)) == total / months rounded half up
+        return (2 * totalMinorUnits + months) / (2L * months);
+    }
+
+    /**
+     * Advances a payment date by whole billing cycles until it is no longer before the given date.
+     * Every step is taken from the original date, so month-end dates do not drift.
+     * Trials do not renew and are returned unchanged.
+     */
+    public LocalDate advancePaymentDate(LocalDate paymentDate, LocalDate notBefore) {
+        if (this == TRIAL || !paymentDate.isBefore(notBefore)) {
+            return paymentDate;
+        }
+
+        long cycles = ChronoUnit.MONTHS.between(paymentDate, notBefore) / months;
+        LocalDate advanced = paymentDate.plusMonths(cycles * months);
+        while (advanced.isBefore(notBefore)) {
+            cycles++;
+            advanced = paymentDate.plusMonths(cycles * months);
+        }
+        return advanced;
+    }
 }
@@ -0,0 +1,10 @@
+package com.example.subscriptionmanager.domain.model;
+
+/**
+ * Outcome of cancelling a subscription on behalf of its owner.
+ */
+public enum CancellationResult {
+    CANCELLED,
+    NOT_FOUND,
+    ALREADY_CANCELLED
+}
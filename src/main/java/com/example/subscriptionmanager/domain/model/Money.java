@@ -10,8 +10,12 @@ import java.util.Objects;
  * Immutable and follows Value Object pattern.
  */
 public final class Money {
+    private static final long UNKNOWN_MINOR_UNITS = Long.MIN_VALUE;
+
     private final BigDecimal amount;
     private final Currency currency;
+    // Amount in hundredths, computed on first use
+    private volatile long minorUnits = UNKNOWN_MINOR_UNITS;
 
     public Money(BigDecimal amount, Currency currency) {
         Objects.requireNonNull(amount, "Amount cannot be null");
@@ -30,10 +34,33 @@ public final class Money {
         this.currency = currency;
     }
 
+    // Trusted values only - skips validation and rescaling
+    private Money(BigDecimal amount, Currency currency, long minorUnits) {
+        this.amount = amount;
+        this.currency = currency;
+        this.minorUnits = minorUnits;
+    }
+
     public Money(double amount, String currencyCode) {
         this(BigDecimal.valueOf(amount), Currency.getInstance(currencyCode));
     }
 
+    /**
+     * Creates money from an amount in minor units (hundredths of the currency unit).
+     */
+    public static Money ofMinorUnits(long minorUnits, Currency currency) {
+        Money money = new Money(BigDecimal.valueOf(minorUnits, 2), currency);
+        money.minorUnits = minorUnits;
+        return money;
+    }
+
+    /**
+     * Rebuilds money from a persisted amount that is already non-negative with scale of at most 2.
+     */
+    public static Money restore(BigDecimal amount, Currency currency) {
+        return new Money(amount, currency, UNKNOWN_MINOR_UNITS);
+    }
+
     public BigDecimal getAmount() {
         return amount;
     }
@@ -46,6 +73,18 @@ public final class Money {
         return currency.getCurrencyCode();
     }
 
+    /**
+     * Gets amount in minor units (hundredths of the currency unit), for exact integer arithmetic.
+     */
+    public long getMinorUnits() {
+        long cached = minorUnits;
+        if (cached == UNKNOWN_MINOR_UNITS) {
+            cached = amount.movePointRight(2).longValueExact();
+            minorUnits = cached;
+        }
+        return cached;
+    }
+
     public Money add(Money other) {
         if (!this.currency.equals(other.currency)) {
             throw new IllegalArgumentException("Cannot add money with different currencies");
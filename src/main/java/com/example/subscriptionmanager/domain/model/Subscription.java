@@ -46,6 +46,32 @@ public class Subscription {
         return subscription;
     }
 
+    /**
+     * Factory method to rebuild a subscription from persisted state.
+     * Skips validation and status transitions, since the state was valid when it was stored
+     * and may legitimately be out of date now, e.g. a payment date in the past.
+     */
+    public static Subscription restore(
+            SubscriptionId subscriptionId,
+            UserId userId,
+            String name,
+            Money price,
+            BillingCycle billingCycle,
+            LocalDate nextPaymentDate,
+            boolean autoRenewal,
+            SubscriptionStatus status) {
+
+        Subscription subscription = new Subscription(subscriptionId, userId);
+        subscription.name = name;
+        subscription.price = price;
+        subscription.billingCycle = billingCycle;
+        subscription.nextPaymentDate = nextPaymentDate;
+        subscription.autoRenewal = autoRenewal;
+        subscription.status = status;
+
+        return subscription;
+    }
+
     /**
      * Updates subscription details.
      */
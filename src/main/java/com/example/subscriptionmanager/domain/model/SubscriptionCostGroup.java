@@ -0,0 +1,55 @@
+package com.example.subscriptionmanager.domain.model;
+
+import java.util.Objects;
+
+/**
+ * Value Object with the summed price of subscriptions sharing a currency and billing cycle.
+ * Lets monthly cost be calculated from a few aggregate rows instead of every subscription.
+ */
+public final class SubscriptionCostGroup {
+    private final Money totalPrice;
+    private final BillingCycle billingCycle;
+    private final long subscriptionCount;
+
+    public SubscriptionCostGroup(Money totalPrice, BillingCycle billingCycle, long subscriptionCount) {
+        this.totalPrice = Objects.requireNonNull(totalPrice, "Total price cannot be null");
+        this.billingCycle = Objects.requireNonNull(billingCycle, "Billing cycle cannot be null");
+
+        if (subscriptionCount < 0) {
+            throw new IllegalArgumentException("Subscription count cannot be negative");
+        }
+        this.subscriptionCount = subscriptionCount;
+    }
+
+    public Money getTotalPrice() {
+        return totalPrice;
+    }
+
+    public BillingCycle getBillingCycle() {
+        return billingCycle;
+    }
+
+    public long getSubscriptionCount() {
+        return subscriptionCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SubscriptionCostGroup that = (SubscriptionCostGroup) o;
+        return subscriptionCount == that.subscriptionCount
+                && Objects.equals(totalPrice, that.totalPrice)
+                && billingCycle == that.billingCycle;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(totalPrice, billingCycle, subscriptionCount);
+    }
+
+    @Override
+    public String toString() {
+        return subscriptionCount + " x " + billingCycle + " = " + totalPrice;
+    }
+}
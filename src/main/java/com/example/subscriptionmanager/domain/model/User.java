@@ -26,6 +26,17 @@ public class User {
         return user;
     }
 
+    /**
+     * Factory method to rebuild a user from persisted state, without re-running validation.
+     */
+    public static User restore(UserId userId, String email, String passwordHash, boolean active) {
+        User user = new User(userId);
+        user.email = email;
+        user.passwordHash = passwordHash;
+        user.active = active;
+        return user;
+    }
+
     public UserId getUserId() {
         return userId;
     }
@@ -0,0 +1,16 @@
+package com.example.subscriptionmanager.domain.repository;
+
+import com.example.subscriptionmanager.domain.model.SubscriptionCostGroup;
+
+import java.util.List;
+
+/**
+ * Repository interface for reports spanning all users.
+ * Domain layer defines the contract, infrastructure implements it.
+ */
+public interface SubscriptionCostReportRepository {
+    /**
+     * Sums prices of all active subscriptions, across all users, per currency and billing cycle.
+     */
+    List<SubscriptionCostGroup> sumActiveCostGroups();
+}
@@ -1,6 +1,8 @@
 package com.example.subscriptionmanager.domain.repository;
 
+import com.example.subscriptionmanager.domain.model.CancellationResult;
 import com.example.subscriptionmanager.domain.model.Subscription;
+import com.example.subscriptionmanager.domain.model.SubscriptionCostGroup;
 import com.example.subscriptionmanager.domain.model.SubscriptionId;
 import com.example.subscriptionmanager.domain.model.UserId;
 
@@ -17,6 +19,12 @@ public interface SubscriptionRepository {
      */
     Subscription save(Subscription subscription);
 
+    /**
+     * Inserts new subscriptions in one batch, without checking for existing rows first.
+     * All of them are inserted or none is.
+     */
+    void insertAll(List<Subscription> subscriptions);
+
     /**
      * Finds subscription by ID.
      */
@@ -33,9 +41,20 @@ public interface SubscriptionRepository {
     List<Subscription> findActiveByUserId(UserId userId);
 
     /**
-     * Deletes a subscription.
+     * Sums prices of a user's active subscriptions per currency and billing cycle.
+     */
+    List<SubscriptionCostGroup> findActiveCostGroupsByUserId(UserId userId);
+
+    /**
+     * Cancels a user's active subscription as one conditional update.
+     * Another user's subscription is reported as not found.
+     */
+    CancellationResult cancel(SubscriptionId subscriptionId, UserId userId);
+
+    /**
+     * Deletes a subscription owned by the user. A subscription of another user is left alone.
      */
-    void delete(SubscriptionId subscriptionId);
+    void delete(SubscriptionId subscriptionId, UserId userId);
 
     /**
      * Checks if subscription exists.
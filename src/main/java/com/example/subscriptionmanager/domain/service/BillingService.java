@@ -3,9 +3,10 @@ package com.example.subscriptionmanager.domain.service;
 import com.example.subscriptionmanager.domain.exchange.ExchangeRateProvider;
 import com.example.subscriptionmanager.domain.model.Money;
 import com.example.subscriptionmanager.domain.model.Subscription;
+import com.example.subscriptionmanager.domain.model.SubscriptionCostGroup;
 
-import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.YearMonth;
 import java.util.Currency;
 import java.util.List;
 
@@ -27,27 +28,78 @@ public class BillingService {
      * Converts all subscriptions to base currency and sums them up.
      */
     public Money calculateMonthlyCost(List<Subscription> subscriptions) {
-        BigDecimal totalAmount = BigDecimal.ZERO;
+        return calculateMonthlyCost(subscriptions, baseCurrency);
+    }
+
+    /**
+     * Calculates total monthly cost for a list of subscriptions in the given currency.
+     * Sums in exact minor units per currency, then converts the whole batch at once,
+     * so each source currency is resolved only once.
+     */
+    public Money calculateMonthlyCost(List<Subscription> subscriptions, Currency targetCurrency) {
+        MonthlyCostAccumulator accumulator = new MonthlyCostAccumulator();
 
         for (Subscription subscription : subscriptions) {
             if (!subscription.isActive()) {
                 continue;
             }
 
-            Money subscriptionPrice = subscription.getPrice();
-            double monthlyCost = subscription.getBillingCycle()
-                    .calculateMonthlyCost(subscriptionPrice.getAmount().doubleValue());
+            Money price = subscription.getPrice();
+            accumulator.add(price.getCurrency(), price.getMinorUnits(), subscription.getBillingCycle());
+        }
 
-            Money monthlyMoney = new Money(BigDecimal.valueOf(monthlyCost), subscriptionPrice.getCurrency());
+        return convertTotal(accumulator, targetCurrency);
+    }
 
-            // Convert to base currency
-            Money converted = exchangeRateProvider.convert(monthlyMoney, baseCurrency)
-                    .orElseThrow(() -> new IllegalStateException(
-                            "Cannot convert " + monthlyMoney.getCurrencyCode() + " to " + baseCurrency.getCurrencyCode()));
+    /**
+     * Calculates total monthly cost from prices already summed per currency and billing cycle.
+     * Each group's total is divided by its billing cycle once, so the result can be up to
+     * half a minor unit per subscription closer to the exact value than the per-subscription sum.
+     */
+    public Money calculateMonthlyCostFromGroups(List<SubscriptionCostGroup> costGroups, Currency targetCurrency) {
+        MonthlyCostAccumulator accumulator = new MonthlyCostAccumulator();
 
-            totalAmount = totalAmount.add(converted.getAmount());
+        for (SubscriptionCostGroup costGroup : costGroups) {
+            Money totalPrice = costGroup.getTotalPrice();
+            accumulator.add(totalPrice.getCurrency(), totalPrice.getMinorUnits(), costGroup.getBillingCycle());
         }
 
-        return new Money(totalAmount.setScale(2, RoundingMode.HALF_UP), baseCurrency);
+        return convertTotal(accumulator, targetCurrency);
+    }
+
+    /**
+     * Forecasts actual cash outflow month by month, charging each payment in the month it is due.
+     * @return one total per month, starting with firstMonth
+     */
+    public List<Money> forecastSpending(
+            List<Subscription> subscriptions, YearMonth firstMonth, int months, Currency targetCurrency) {
+        SpendingForecastAccumulator forecast = new SpendingForecastAccumulator(firstMonth, months);
+
+        for (Subscription subscription : subscriptions) {
+            if (!subscription.isActive()) {
+                continue;
+            }
+
+            Money price = subscription.getPrice();
+            forecast.add(
+                    price.getCurrency(),
+                    price.getMinorUnits(),
+                    subscription.getBillingCycle(),
+                    subscription.getNextPaymentDate(),
+                    subscription.isAutoRenewal());
+        }
+
+        return forecast.totals(exchangeRateProvider, targetCurrency)
+                .orElseThrow(() -> new IllegalStateException(
+                        "Cannot convert subscription costs to " + targetCurrency.getCurrencyCode()));
+    }
+
+    private Money convertTotal(MonthlyCostAccumulator accumulator, Currency targetCurrency) {
+        // Convert to target currency
+        Money total = accumulator.total(exchangeRateProvider, targetCurrency)
+                .orElseThrow(() -> new IllegalStateException(
+                        "Cannot convert subscription costs to " + targetCurrency.getCurrencyCode()));
+
+        return new Money(total.getAmount().setScale(2, RoundingMode.HALF_UP), targetCurrency);
     }
 }
@@ -0,0 +1,89 @@
+package com.example.subscriptionmanager.domain.service;
+
+import com.example.subscriptionmanager.domain.exchange.ExchangeRateProvider;
+import com.example.subscriptionmanager.domain.model.BillingCycle;
+import com.example.subscriptionmanager.domain.model.Money;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Fixed-point accumulator of monthly costs.
+ * Works in minor units (hundredths) per source currency, so adding a subscription
+ * allocates nothing and never rounds through double. Conversion happens once per
+ * currency, when the total is taken.
+ * Not thread-safe - use one instance per calculation.
+ */
+public final class MonthlyCostAccumulator {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private Currency[] currencies = new Currency[INITIAL_CAPACITY];
+    private long[] totals = new long[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Adds the monthly share of a price given in minor units.
+     */
+    public void add(Currency currency, long priceMinorUnits, BillingCycle billingCycle) {
+        long monthly = billingCycle.calculateMonthlyMinorUnits(priceMinorUnits);
+        if (monthly == 0) {
+            return;
+        }
+
+        int index = indexOf(currency);
+        totals[index] = Math.addExact(totals[index], monthly);
+    }
+
+    /**
+     * Gets the accumulated monthly total for a single source currency, in minor units.
+     */
+    public long getMinorUnits(Currency currency) {
+        for (int i = 0; i < size; i++) {
+            if (currencies[i].equals(currency)) {
+                return totals[i];
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * Converts the per-currency totals in one batch and sums them.
+     * @return total in targetCurrency or empty if any currency cannot be converted
+     */
+    public Optional<Money> total(ExchangeRateProvider exchangeRateProvider, Currency targetCurrency) {
+        List<Money> groups = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            groups.add(Money.ofMinorUnits(totals[i], currencies[i]));
+        }
+        return exchangeRateProvider.sumConverted(groups, targetCurrency);
+    }
+
+    /**
+     * Clears the totals so the accumulator can be reused for the next batch.
+     */
+    public void reset() {
+        Arrays.fill(currencies, 0, size, null);
+        Arrays.fill(totals, 0, size, 0L);
+        size = 0;
+    }
+
+    private int indexOf(Currency currency) {
+        // Users hold a handful of currencies, so a linear scan beats hashing here
+        for (int i = 0; i < size; i++) {
+            if (currencies[i] == currency || currencies[i].equals(currency)) {
+                return i;
+            }
+        }
+
+        if (size == currencies.length) {
+            currencies = Arrays.copyOf(currencies, size * 2);
+            totals = Arrays.copyOf(totals, size * 2);
+        }
+        currencies[size] = currency;
+        totals[size] = 0L;
+        return size++;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.subscriptionmanager.domain.service;
+
+import com.example.subscriptionmanager.domain.exchange.ExchangeRateProvider;
+import com.example.subscriptionmanager.domain.model.BillingCycle;
+import com.example.subscriptionmanager.domain.model.Money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Month-by-month cash outflow over a fixed horizon.
+ * Each payment is added straight into a per-currency bucket of minor units,
+ * so a subscription costs one pass over the months it is charged in and no objects.
+ * Not thread-safe - use one instance per forecast.
+ */
+public final class SpendingForecastAccumulator {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final YearMonth firstMonth;
+    private final int firstMonthIndex;
+    private final int months;
+    private Currency[] currencies = new Currency[INITIAL_CAPACITY];
+    private long[][] buckets = new long[INITIAL_CAPACITY][];
+    private int size;
+
+    public SpendingForecastAccumulator(YearMonth firstMonth, int months) {
+        if (months <= 0) {
+            throw new IllegalArgumentException("Forecast horizon must be at least one month");
+        }
+        this.firstMonth = firstMonth;
+        this.firstMonthIndex = monthIndex(firstMonth.getYear(), firstMonth.getMonthValue());
+        this.months = months;
+    }
+
+    /**
+     * Adds every payment of a subscription that falls inside the horizon.
+     * Payments repeat every billing cycle from nextPaymentDate, or happen once without auto-renewal.
+     * Overdue renewals are carried forward to the first payment inside the horizon.
+     */
+    public void add(Currency currency, long priceMinorUnits, BillingCycle billingCycle,
+                    LocalDate nextPaymentDate, boolean autoRenewal) {
+        int step = billingCycle.getMonths();
+        if (step == 0 || priceMinorUnits == 0) {
+            // Trials are not charged
+            return;
+        }
+
+        int month = monthIndex(nextPaymentDate.getYear(), nextPaymentDate.getMonthValue()) - firstMonthIndex;
+        if (month < 0) {
+            if (!autoRenewal) {
+                return;
+            }
+            month += (-month + step - 1) / step * step;
+        }
+        if (month >= months) {
+            return;
+        }
+
+        long[] bucket = bucketFor(currency);
+        if (!autoRenewal) {
+            bucket[month] = Math.addExact(bucket[month], priceMinorUnits);
+            return;
+        }
+        for (; month < months; month += step) {
+            bucket[month] = Math.addExact(bucket[month], priceMinorUnits);
+        }
+    }
+
+    /**
+     * Gets the forecast outflow for one month in one source currency, in minor units.
+     */
+    public long getMinorUnits(Currency currency, YearMonth month) {
+        int offset = monthIndex(month.getYear(), month.getMonthValue()) - firstMonthIndex;
+        if (offset < 0 || offset >= months) {
+            return 0L;
+        }
+        for (int i = 0; i < size; i++) {
+            if (currencies[i].equals(currency)) {
+                return buckets[i][offset];
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * Converts every month to the target currency, resolving each source rate once.
+     * @return one total per month, starting with the first month, or empty if any currency cannot be converted
+     */
+    public Optional<List<Money>> totals(ExchangeRateProvider exchangeRateProvider, Currency targetCurrency) {
+        BigDecimal[] rates = new BigDecimal[size];
+        for (int i = 0; i < size; i++) {
+            if (currencies[i].equals(targetCurrency)) {
+                rates[i] = BigDecimal.ONE;
+                continue;
+            }
+            double rate = exchangeRateProvider.getExchangeRateOrNaN(currencies[i], targetCurrency);
+            if (Double.isNaN(rate)) {
+                return Optional.empty();
+            }
+            rates[i] = BigDecimal.valueOf(rate);
+        }
+
+        List<Money> totals = new ArrayList<>(months);
+        for (int month = 0; month < months; month++) {
+            BigDecimal total = BigDecimal.ZERO;
+            for (int i = 0; i < size; i++) {
+                long amount = buckets[i][month];
+                if (amount != 0) {
+                    total = total.add(BigDecimal.valueOf(amount, 2).multiply(rates[i]));
+                }
+            }
+            totals.add(new Money(total.setScale(2, RoundingMode.HALF_UP), targetCurrency));
+        }
+        return Optional.of(totals);
+    }
+
+    public YearMonth getFirstMonth() {
+        return firstMonth;
+    }
+
+    public int getMonths() {
+        return months;
+    }
+
+    private long[] bucketFor(Currency currency) {
+        for (int i = 0; i < size; i++) {
+            if (currencies[i] == currency || currencies[i].equals(currency)) {
+                return buckets[i];
+            }
+        }
+
+        if (size == currencies.length) {
+            currencies = Arrays.copyOf(currencies, size * 2);
+            buckets = Arrays.copyOf(buckets, size * 2);
+        }
+        currencies[size] = currency;
+        buckets[size] = new long[months];
+        return buckets[size++];
+    }
+
+    private static int monthIndex(int year, int month) {
+        return year * 12 + month - 1;
+    }
+}
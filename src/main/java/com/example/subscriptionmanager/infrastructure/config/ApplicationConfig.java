@@ -1,7 +1,10 @@
 package com.example.subscriptionmanager.infrastructure.config;
 
+import com.example.subscriptionmanager.application.query.SubscriptionExporter;
+import com.example.subscriptionmanager.application.query.SubscriptionQueryRepository;
 import com.example.subscriptionmanager.application.usecase.*;
 import com.example.subscriptionmanager.domain.exchange.ExchangeRateProvider;
+import com.example.subscriptionmanager.domain.repository.SubscriptionCostReportRepository;
 import com.example.subscriptionmanager.domain.repository.SubscriptionRepository;
 import com.example.subscriptionmanager.domain.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,6 +23,9 @@ public class ApplicationConfig {
     @Value("${app.base-currency:PLN}")
     private String baseCurrencyCode;
 
+    @Value("${app.http.etags.enabled:true}")
+    private boolean eTagsEnabled;
+
     @Bean
     public AddSubscriptionUseCase addSubscriptionUseCase(SubscriptionRepository subscriptionRepository) {
         return new AddSubscriptionUseCase(subscriptionRepository);
@@ -31,8 +37,25 @@ public class ApplicationConfig {
     }
 
     @Bean
-    public ListSubscriptionsUseCase listSubscriptionsUseCase(SubscriptionRepository subscriptionRepository) {
-        return new ListSubscriptionsUseCase(subscriptionRepository);
+    public ListSubscriptionsUseCase listSubscriptionsUseCase(SubscriptionQueryRepository subscriptionQueryRepository) {
+        return new ListSubscriptionsUseCase(subscriptionQueryRepository);
+    }
+
+    @Bean
+    public ImportSubscriptionsUseCase importSubscriptionsUseCase(SubscriptionRepository subscriptionRepository) {
+        return new ImportSubscriptionsUseCase(subscriptionRepository);
+    }
+
+    @Bean
+    public ExportSubscriptionsUseCase exportSubscriptionsUseCase(SubscriptionExporter subscriptionExporter) {
+        return new ExportSubscriptionsUseCase(subscriptionExporter);
+    }
+
+    @Bean
+    public GetSubscriptionsETagUseCase getSubscriptionsETagUseCase(
+            SubscriptionQueryRepository subscriptionQueryRepository,
+            ExchangeRateProvider exchangeRateProvider) {
+        return new GetSubscriptionsETagUseCase(subscriptionQueryRepository, exchangeRateProvider, eTagsEnabled);
     }
 
     @Bean
@@ -43,6 +66,22 @@ public class ApplicationConfig {
         return new CalculateMonthlyCostUseCase(subscriptionRepository, exchangeRateProvider, baseCurrency);
     }
 
+    @Bean
+    public ForecastSpendingUseCase forecastSpendingUseCase(
+            SubscriptionRepository subscriptionRepository,
+            ExchangeRateProvider exchangeRateProvider) {
+        Currency baseCurrency = Currency.getInstance(baseCurrencyCode);
+        return new ForecastSpendingUseCase(subscriptionRepository, exchangeRateProvider, baseCurrency);
+    }
+
+    @Bean
+    public GenerateSpendReportUseCase generateSpendReportUseCase(
+            SubscriptionCostReportRepository subscriptionCostReportRepository,
+            ExchangeRateProvider exchangeRateProvider) {
+        Currency baseCurrency = Currency.getInstance(baseCurrencyCode);
+        return new GenerateSpendReportUseCase(subscriptionCostReportRepository, exchangeRateProvider, baseCurrency);
+    }
+
     @Bean
     public RegisterUserUseCase registerUserUseCase(
             UserRepository userRepository,
@@ -1,16 +1,60 @@
 package com.example.subscriptionmanager.infrastructure.config;
 
+import com.example.subscriptionmanager.infrastructure.exchange.NbpTimeouts;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Configuration for exchange rate provider.
+ * Enables scheduling so the rate snapshot is refreshed in the background,
+ * and runs NBP calls on virtual threads so a slow NBP never holds request threads.
  */
 @Configuration
+@EnableScheduling
 public class ExchangeRateConfig {
+
+    /**
+     * Clock for rate ages, staleness and the NBP circuit breaker, replaceable in tests.
+     */
+    @Bean
+    public Clock exchangeRateClock() {
+        return Clock.systemUTC();
+    }
+
+    @Bean
+    public NbpTimeouts nbpTimeouts(
+            @Value("${app.exchange-rates.connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${app.exchange-rates.read-timeout:PT3S}") Duration readTimeout) {
+        return new NbpTimeouts(connectTimeout, readTimeout);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService exchangeRateExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestClient nbpRestClient(ExecutorService exchangeRateExecutor, NbpTimeouts nbpTimeouts) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(exchangeRateExecutor)
+                .connectTimeout(nbpTimeouts.connectTimeout())
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient, exchangeRateExecutor);
+        requestFactory.setReadTimeout(nbpTimeouts.readTimeout());
+
+        return RestClient.builder()
+                .requestFactory(requestFactory)
+                .build();
     }
 }
@@ -0,0 +1,120 @@
+package com.example.subscriptionmanager.infrastructure.config;
+
+import com.example.subscriptionmanager.infrastructure.persistence.routing.ReadWriteRoutingDataSource;
+import com.example.subscriptionmanager.infrastructure.persistence.routing.RecentWriters;
+import com.example.subscriptionmanager.infrastructure.persistence.routing.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+
+/**
+ * Configuration for reading from a Postgres streaming replica.
+ * Only active when app.datasource.replica.url is set; otherwise Spring Boot's single
+ * datasource is used as before.
+ * Read-only transactions go to the replica, everything else, Flyway included, to the primary.
+ * Both pools take the usual spring.datasource.hikari.* settings; the replica's can be overridden
+ * under app.datasource.replica.hikari.*.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class ReadReplicaConfig {
+    private final Binder binder;
+
+    @Value("${spring.datasource.url}")
+    private String primaryUrl;
+
+    @Value("${spring.datasource.username}")
+    private String primaryUsername;
+
+    @Value("${spring.datasource.password}")
+    private String primaryPassword;
+
+    @Value("${app.datasource.replica.url}")
+    private String replicaUrl;
+
+    @Value("${app.datasource.replica.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replica.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    public ReadReplicaConfig(Environment environment) {
+        this.binder = Binder.get(environment);
+    }
+
+    @Bean
+    public HikariDataSource primaryDataSource() {
+        HikariConfig config = poolConfig();
+        return pool("primary", config, primaryUrl, primaryUsername, primaryPassword, false);
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource() {
+        HikariConfig config = poolConfig();
+        binder.bind("app.datasource.replica.hikari", Bindable.ofInstance(config));
+        return pool("replica", config, replicaUrl, replicaUsername, replicaPassword, true);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            HikariDataSource primaryDataSource,
+            HikariDataSource replicaDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${app.datasource.replica.max-lag:PT2S}") Duration maxLag) {
+        return new ReplicaLagMonitor(primaryDataSource, replicaDataSource, maxLag, meterRegistry);
+    }
+
+    @Bean
+    public RecentWriters recentWriters(
+            @Value("${app.datasource.replica.sticky-window:PT5S}") Duration stickyWindow) {
+        return new RecentWriters(stickyWindow, 100_000);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            HikariDataSource primaryDataSource,
+            HikariDataSource replicaDataSource,
+            ReplicaLagMonitor replicaLagMonitor,
+            RecentWriters recentWriters) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+                primaryDataSource, replicaDataSource, replicaLagMonitor, recentWriters);
+        // Hold off choosing a pool until the first statement, when the transaction is fully set up
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(routing);
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return proxy;
+    }
+
+    /**
+     * Pool settings Spring Boot would have applied to its own datasource.
+     */
+    private HikariConfig poolConfig() {
+        HikariConfig config = new HikariConfig();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(config));
+        return config;
+    }
+
+    private HikariDataSource pool(
+            String name, HikariConfig config, String url, String username, String password, boolean readOnly) {
+        config.setPoolName(name);
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setReadOnly(readOnly);
+        return new HikariDataSource(config);
+    }
+}
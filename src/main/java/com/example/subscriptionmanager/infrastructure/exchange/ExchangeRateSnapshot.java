@@ -0,0 +1,100 @@
+package com.example.subscriptionmanager.infrastructure.exchange;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable snapshot of a single NBP table A.
+ * Holds mid rates expressed as PLN per one unit of foreign currency, plus a dense
+ * cross-rate matrix built once per table so any pair converts with a single array lookup.
+ */
+public final class ExchangeRateSnapshot {
+    private static final Currency PLN = Currency.getInstance("PLN");
+    private static final ExchangeRateSnapshot EMPTY = new ExchangeRateSnapshot(null, Instant.EPOCH, Map.of());
+
+    private final LocalDate effectiveDate;
+    private final Instant fetchedAt;
+    private final Map<Currency, Double> plnRates;
+    // Small ordinal per currency in this table, PLN included
+    private final Map<Currency, Integer> ordinals;
+    // crossRates[from * size + to] = units of "to" per one unit of "from"
+    private final double[] crossRates;
+    private final int size;
+
+    public ExchangeRateSnapshot(LocalDate effectiveDate, Instant fetchedAt, Map<Currency, Double> plnRates) {
+        this.effectiveDate = effectiveDate;
+        this.fetchedAt = fetchedAt;
+        this.plnRates = Map.copyOf(plnRates);
+
+        Map<Currency, Double> withPln = new HashMap<>(plnRates);
+        withPln.put(PLN, 1.0);
+
+        this.size = withPln.size();
+        Map<Currency, Integer> ordinalMap = new HashMap<>();
+        double[] toPln = new double[size];
+        int ordinal = 0;
+        for (Map.Entry<Currency, Double> entry : withPln.entrySet()) {
+            ordinalMap.put(entry.getKey(), ordinal);
+            toPln[ordinal] = entry.getValue();
+            ordinal++;
+        }
+        this.ordinals = Map.copyOf(ordinalMap);
+
+        this.crossRates = new double[size * size];
+        for (int from = 0; from < size; from++) {
+            for (int to = 0; to < size; to++) {
+                crossRates[from * size + to] = from == to ? 1.0 : toPln[from] / toPln[to];
+            }
+        }
+    }
+
+    public static ExchangeRateSnapshot empty() {
+        return EMPTY;
+    }
+
+    public boolean isEmpty() {
+        return plnRates.isEmpty();
+    }
+
+    public LocalDate getEffectiveDate() {
+        return effectiveDate;
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public Map<Currency, Double> getPlnRates() {
+        return plnRates;
+    }
+
+    /**
+     * Gets exchange rate between two currencies, crossing through PLN when neither side is PLN.
+     */
+    public Optional<Double> getRate(Currency fromCurrency, Currency toCurrency) {
+        double rate = getRateOrNaN(fromCurrency, toCurrency);
+        return Double.isNaN(rate) ? Optional.empty() : Optional.of(rate);
+    }
+
+    /**
+     * Gets exchange rate from the cross-rate matrix without allocating.
+     * @return exchange rate or NaN when either currency is not in this table
+     */
+    public double getRateOrNaN(Currency fromCurrency, Currency toCurrency) {
+        if (fromCurrency.equals(toCurrency)) {
+            return 1.0;
+        }
+
+        Integer from = ordinals.get(fromCurrency);
+        Integer to = ordinals.get(toCurrency);
+        if (from == null || to == null || isEmpty()) {
+            return Double.NaN;
+        }
+
+        return crossRates[from * size + to];
+    }
+}
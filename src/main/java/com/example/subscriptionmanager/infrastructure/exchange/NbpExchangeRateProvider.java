@@ -1,82 +1,349 @@
 package com.example.subscriptionmanager.infrastructure.exchange;
 
 import com.example.subscriptionmanager.domain.exchange.ExchangeRateProvider;
+import com.example.subscriptionmanager.domain.model.Money;
+import com.example.subscriptionmanager.infrastructure.persistence.jpa.JpaExchangeRateStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
 
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Implementation of ExchangeRateProvider using NBP (National Bank of Poland) API.
- * Handles currency conversion for PLN and other currencies.
+ * Answers lookups from an in-memory snapshot of table A backed by the local exchange_rates store.
+ * NBP is only called to refresh the current table and to fill gaps in the stored history.
+ * Concurrent misses for the same table share one fetch, which runs on a virtual thread.
+ * A stale snapshot is served immediately while it is revalidated in the background,
+ * and a circuit breaker stops calls to NBP after repeated failures.
+ * Dates NBP has no table around are remembered for one refresh interval, so repeated lookups
+ * of such a date do not call NBP again.
  */
 @Component
 public class NbpExchangeRateProvider implements ExchangeRateProvider {
-    private static final String NBP_API_URL = "http://api.nbp.pl/api/exchangerates/rates/a/";
-    private static final Currency PLN = Currency.getInstance("PLN");
-    
-    private final RestTemplate restTemplate;
+    private static final Logger log = LoggerFactory.getLogger(NbpExchangeRateProvider.class);
+    private static final String NBP_TABLE_URL = "http://api.nbp.pl/api/exchangerates/tables/a/";
+    // NBP publishes on business days only, so a week back always covers the latest table
+    private static final int MAX_PUBLICATION_GAP_DAYS = 7;
+    // Separate keys: a lookup that finds the store empty must not join a refresh that only re-fetches
+    private static final String CURRENT_TABLE = "current";
+    private static final String STORED_OR_CURRENT_TABLE = "stored-or-current";
+    private static final int MAX_UNPUBLISHED_DATES = 10_000;
 
-    public NbpExchangeRateProvider(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    private final RestClient nbpRestClient;
+    private final JpaExchangeRateStore store;
+    private final Duration refreshInterval;
+    private final Duration fetchTimeout;
+    private final SingleFlight<String, ExchangeRateSnapshot> fetches;
+    private final CircuitBreaker circuitBreaker;
+    private final Clock clock;
+    private final AtomicReference<ExchangeRateSnapshot> snapshot = new AtomicReference<>(ExchangeRateSnapshot.empty());
+    private final Cache<LocalDate, Boolean> unpublishedDates;
+
+    public NbpExchangeRateProvider(
+            RestClient nbpRestClient,
+            JpaExchangeRateStore store,
+            ExecutorService exchangeRateExecutor,
+            @Value("${app.exchange-rates.refresh-interval:PT1H}") Duration refreshInterval,
+            NbpTimeouts nbpTimeouts,
+            @Value("${app.exchange-rates.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${app.exchange-rates.circuit-breaker.open-duration:PT1M}") Duration openDuration,
+            Clock exchangeRateClock) {
+        this.nbpRestClient = nbpRestClient;
+        this.store = store;
+        this.refreshInterval = refreshInterval;
+        this.fetchTimeout = nbpTimeouts.fetchTimeout();
+        this.fetches = new SingleFlight<>(exchangeRateExecutor);
+        this.clock = exchangeRateClock;
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration, clock);
+        this.unpublishedDates = Caffeine.newBuilder()
+                .maximumSize(MAX_UNPUBLISHED_DATES)
+                .expireAfterWrite(refreshInterval)
+                .build();
     }
 
     @Override
     public Optional<Double> getExchangeRate(Currency fromCurrency, Currency toCurrency) {
+        double rate = getExchangeRateOrNaN(fromCurrency, toCurrency);
+        return Double.isNaN(rate) ? Optional.empty() : Optional.of(rate);
+    }
+
+    @Override
+    public double getExchangeRateOrNaN(Currency fromCurrency, Currency toCurrency) {
         // Same currency
+        if (fromCurrency.equals(toCurrency)) {
+            return 1.0;
+        }
+
+        return currentSnapshot().getRateOrNaN(fromCurrency, toCurrency);
+    }
+
+    /**
+     * Converts the whole batch against one snapshot, so every group uses the same table
+     * even if a refresh swaps it in the middle of the batch.
+     */
+    @Override
+    public Optional<Money> sumConverted(Collection<Money> amounts, Currency targetCurrency) {
+        Map<Currency, BigDecimal> totals = new HashMap<>();
+        for (Money amount : amounts) {
+            totals.merge(amount.getCurrency(), amount.getAmount(), BigDecimal::add);
+        }
+
+        ExchangeRateSnapshot rates = totals.keySet().stream().allMatch(targetCurrency::equals)
+                ? ExchangeRateSnapshot.empty()
+                : currentSnapshot();
+
+        BigDecimal sum = BigDecimal.ZERO;
+        for (Map.Entry<Currency, BigDecimal> group : totals.entrySet()) {
+            double rate = rates.getRateOrNaN(group.getKey(), targetCurrency);
+            if (Double.isNaN(rate)) {
+                return Optional.empty();
+            }
+            sum = sum.add(group.getValue().multiply(BigDecimal.valueOf(rate)));
+        }
+
+        return Optional.of(new Money(sum, targetCurrency));
+    }
+
+    @Override
+    public Optional<Duration> getRatesAge() {
+        ExchangeRateSnapshot current = snapshot.get();
+        if (current.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.between(current.getFetchedAt(), clock.instant()));
+    }
+
+    @Override
+    public Optional<Instant> getRatesFetchedAt() {
+        ExchangeRateSnapshot current = snapshot.get();
+        return current.isEmpty() ? Optional.empty() : Optional.of(current.getFetchedAt());
+    }
+
+    @Override
+    public Optional<Double> getExchangeRate(Currency fromCurrency, Currency toCurrency, LocalDate date) {
         if (fromCurrency.equals(toCurrency)) {
             return Optional.of(1.0);
         }
 
-        // PLN to other currency
-        if (fromCurrency.equals(PLN)) {
-            return getRateFromPln(toCurrency).map(rate -> 1.0 / rate);
+        ExchangeRateSnapshot current = loadStoredIfEmpty();
+        if (!current.isEmpty() && !date.isBefore(current.getEffectiveDate())) {
+            return current.getRate(fromCurrency, toCurrency);
+        }
+
+        ExchangeRateSnapshot historical = await(
+                fetches.execute(date.toString(), () -> findHistorical(date)),
+                ExchangeRateSnapshot.empty());
+        return historical.getRate(fromCurrency, toCurrency);
+    }
+
+    /**
+     * Periodically replaces the snapshot with the latest published table.
+     * Skips the call to NBP while the stored table is younger than the refresh interval.
+     */
+    @Scheduled(fixedDelayString = "${app.exchange-rates.refresh-interval:PT1H}")
+    public void scheduledRefresh() {
+        ExchangeRateSnapshot current = loadStoredIfEmpty();
+        if (!current.isEmpty() && !isStale(current)) {
+            return;
+        }
+        refresh();
+    }
+
+    /**
+     * Fetches the current table A, stores it and swaps it in.
+     * Keeps the previous snapshot if the fetch fails.
+     */
+    public ExchangeRateSnapshot refresh() {
+        return await(fetches.execute(CURRENT_TABLE, this::fetchCurrent), snapshot.get());
+    }
+
+    private ExchangeRateSnapshot currentSnapshot() {
+        ExchangeRateSnapshot current = snapshot.get();
+        if (current.isEmpty()) {
+            current = await(fetches.execute(STORED_OR_CURRENT_TABLE, this::loadOrFetchCurrent), current);
+        } else if (isStale(current)) {
+            // Serve what we have and revalidate without making the caller wait
+            fetches.execute(CURRENT_TABLE, this::fetchCurrent);
+        }
+        return current;
+    }
+
+    private boolean isStale(ExchangeRateSnapshot current) {
+        return current.getFetchedAt().plus(refreshInterval).isBefore(clock.instant());
+    }
+
+    private ExchangeRateSnapshot loadOrFetchCurrent() {
+        ExchangeRateSnapshot current = loadStoredIfEmpty();
+        return current.isEmpty() ? fetchCurrent() : current;
+    }
+
+    private ExchangeRateSnapshot fetchCurrent() {
+        List<ExchangeRateSnapshot> tables = fetchTables(NBP_TABLE_URL + "?format=json").orElse(List.of());
+        if (tables.isEmpty()) {
+            return snapshot.get();
+        }
+
+        ExchangeRateSnapshot fetched = tables.get(tables.size() - 1);
+        saveQuietly(fetched);
+        snapshot.set(fetched);
+        return fetched;
+    }
+
+    private ExchangeRateSnapshot loadStoredIfEmpty() {
+        ExchangeRateSnapshot current = snapshot.get();
+        if (!current.isEmpty()) {
+            return current;
         }
 
-        // Other currency to PLN
-        if (toCurrency.equals(PLN)) {
-            return getRateFromPln(fromCurrency);
+        try {
+            Optional<ExchangeRateSnapshot> stored = store.findLatest();
+            if (stored.isPresent() && snapshot.compareAndSet(current, stored.get())) {
+                return stored.get();
+            }
+        } catch (Exception e) {
+            log.warn("Error loading stored exchange rates: {}", e.getMessage());
         }
 
-        // Other currency to other currency (via PLN)
-        Optional<Double> fromRate = getRateFromPln(fromCurrency);
-        Optional<Double> toRate = getRateFromPln(toCurrency);
-        
-        if (fromRate.isPresent() && toRate.isPresent()) {
-            return Optional.of(fromRate.get() / toRate.get());
+        return snapshot.get();
+    }
+
+    private ExchangeRateSnapshot findHistorical(LocalDate date) {
+        LocalDate gapStart = date.minusDays(MAX_PUBLICATION_GAP_DAYS);
+
+        Optional<ExchangeRateSnapshot> stored = store.findOnOrBefore(date);
+        if (stored.isPresent() && stored.get().getEffectiveDate().isAfter(gapStart)) {
+            return stored.get();
         }
 
-        return Optional.empty();
+        if (unpublishedDates.getIfPresent(date) != null) {
+            return stored.orElse(ExchangeRateSnapshot.empty());
+        }
+
+        // Gap in the local history - fetch the surrounding week from NBP and keep it
+        Optional<List<ExchangeRateSnapshot>> fetched =
+                fetchTables(NBP_TABLE_URL + gapStart + "/" + date + "/?format=json");
+        if (fetched.isEmpty()) {
+            // NBP could not be asked, so try again on the next lookup
+            return stored.orElse(ExchangeRateSnapshot.empty());
+        }
+
+        List<ExchangeRateSnapshot> tables = fetched.get();
+        if (tables.isEmpty()) {
+            unpublishedDates.put(date, Boolean.TRUE);
+            return stored.orElse(ExchangeRateSnapshot.empty());
+        }
+        tables.forEach(this::saveQuietly);
+        return tables.get(tables.size() - 1);
     }
 
-    private Optional<Double> getRateFromPln(Currency currency) {
+    private ExchangeRateSnapshot await(CompletableFuture<ExchangeRateSnapshot> fetch, ExchangeRateSnapshot fallback) {
         try {
-            String url = NBP_API_URL + currency.getCurrencyCode() + "/?format=json";
-            NbpResponse response = restTemplate.getForObject(url, NbpResponse.class);
-            
-            if (response != null && response.rates != null && !response.rates.isEmpty()) {
-                return Optional.of(response.rates.get(0).mid);
+            return fetch.get(fetchTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Timed out after {} waiting for NBP exchange rates", fetchTimeout);
+        } catch (ExecutionException e) {
+            log.warn("Error loading exchange rates: {}", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return fallback;
+    }
+
+    /**
+     * Fetches the tables published in a range.
+     * @return the tables, empty when NBP published none, or Optional.empty() when NBP could not be asked
+     */
+    private Optional<List<ExchangeRateSnapshot>> fetchTables(String url) {
+        List<ExchangeRateSnapshot> snapshots = new ArrayList<>();
+        if (!circuitBreaker.allowRequest()) {
+            log.debug("NBP circuit breaker is open, skipping {}", url);
+            return Optional.empty();
+        }
+
+        try {
+            NbpTable[] tables = nbpRestClient.get()
+                    .uri(url)
+                    .retrieve()
+                    .body(NbpTable[].class);
+            if (tables != null) {
+                Instant fetchedAt = clock.instant();
+                for (NbpTable table : tables) {
+                    if (table.effectiveDate != null && table.rates != null && !table.rates.isEmpty()) {
+                        snapshots.add(toSnapshot(table, fetchedAt));
+                    }
+                }
             }
+            circuitBreaker.recordSuccess();
+        } catch (HttpClientErrorException.NotFound e) {
+            // NBP answers 404 when no table was published in the requested range
+            circuitBreaker.recordSuccess();
+        } catch (Exception e) {
+            circuitBreaker.recordFailure();
+            log.warn("Error fetching NBP exchange rate table: {}", e.getMessage());
+            return Optional.empty();
+        }
+        return Optional.of(snapshots);
+    }
+
+    private void saveQuietly(ExchangeRateSnapshot table) {
+        try {
+            store.save(table);
         } catch (Exception e) {
-            // Log error in production
-            System.err.println("Error fetching exchange rate for " + currency.getCurrencyCode() + ": " + e.getMessage());
+            log.warn("Error storing exchange rates for {}: {}", table.getEffectiveDate(), e.getMessage());
+        }
+    }
+
+    private ExchangeRateSnapshot toSnapshot(NbpTable table, Instant fetchedAt) {
+        Map<Currency, Double> rates = new HashMap<>();
+        for (Rate rate : table.rates) {
+            if (rate.code == null || rate.mid == null) {
+                continue;
+            }
+            try {
+                rates.put(Currency.getInstance(rate.code), rate.mid);
+            } catch (IllegalArgumentException e) {
+                // Currency code not known to the JDK - skip it
+            }
         }
-        
-        return Optional.empty();
+
+        return new ExchangeRateSnapshot(LocalDate.parse(table.effectiveDate), fetchedAt, rates);
     }
 
     // NBP API response structure
-    private static class NbpResponse {
+    private static class NbpTable {
         public String table;
-        public String currency;
-        public String code;
-        public java.util.List<Rate> rates;
+        public String no;
+        public String effectiveDate;
+        public List<Rate> rates;
     }
 
     private static class Rate {
-        public String no;
-        public String effectiveDate;
+        public String currency;
+        public String code;
         public Double mid;
     }
 }
@@ -0,0 +1,14 @@
+package com.example.subscriptionmanager.infrastructure.exchange;
+
+import java.time.Duration;
+
+/**
+ * Timeouts of calls to NBP, read once from app.exchange-rates.* and shared by the HTTP client
+ * and the provider, which waits at most as long as one call can take.
+ */
+public record NbpTimeouts(Duration connectTimeout, Duration readTimeout) {
+
+    public Duration fetchTimeout() {
+        return connectTimeout.plus(readTimeout);
+    }
+}
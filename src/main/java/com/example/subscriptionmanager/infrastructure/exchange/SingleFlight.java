@@ -0,0 +1,52 @@
+package com.example.subscriptionmanager.infrastructure.exchange;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into one in-flight call.
+ * Every caller asking for a key while it is loading gets the same future.
+ */
+final class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Executor executor;
+
+    SingleFlight(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Starts loading the key on the executor, or joins the load already running for it.
+     */
+    CompletableFuture<V> execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, created);
+        if (running != null) {
+            return running;
+        }
+
+        try {
+            executor.execute(() -> {
+                V value;
+                try {
+                    value = loader.get();
+                } catch (Throwable e) {
+                    inFlight.remove(key, created);
+                    created.completeExceptionally(e);
+                    return;
+                }
+                // Deregister before completing so callers woken by the result can start a fresh load
+                inFlight.remove(key, created);
+                created.complete(value);
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+        }
+
+        return created;
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.subscriptionmanager.infrastructure.export;
+
+import com.example.subscriptionmanager.application.query.ExportFormat;
+import com.example.subscriptionmanager.application.query.SubscriptionExporter;
+import com.example.subscriptionmanager.domain.model.UserId;
+import com.example.subscriptionmanager.infrastructure.persistence.jpa.SpringDataSubscriptionRepository;
+import com.example.subscriptionmanager.infrastructure.persistence.jpa.SubscriptionEntity;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streams subscriptions as CSV or NDJSON straight to an output stream.
+ * Rows come from a JDBC cursor and are written and detached one by one, so memory stays flat
+ * regardless of export size, and output is flushed every fetch batch so the first bytes
+ * reach the client while the query is still running.
+ * Names in CSV are neutralized against formula injection, since exports are opened in spreadsheets.
+ */
+@Component
+public class StreamingSubscriptionExporter implements SubscriptionExporter {
+    // Matches the fetch size hint on the streaming queries
+    private static final int FLUSH_EVERY_ROWS = 1000;
+    private static final String[] COLUMNS = {
+            "subscriptionId", "userId", "name", "price", "currency",
+            "billingCycle", "nextPaymentDate", "autoRenewal", "status"
+    };
+
+    private final SpringDataSubscriptionRepository springDataRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public StreamingSubscriptionExporter(
+            SpringDataSubscriptionRepository springDataRepository,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager) {
+        this.springDataRepository = springDataRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void exportForUser(UserId userId, ExportFormat format, OutputStream output) {
+        export(() -> springDataRepository.streamByUserId(userId.getValue()), format, output);
+    }
+
+    @Override
+    public void exportAll(ExportFormat format, OutputStream output) {
+        export(springDataRepository::streamAll, format, output);
+    }
+
+    private void export(Supplier<Stream<SubscriptionEntity>> source, ExportFormat format, OutputStream output) {
+        // Runs on the response thread, so it opens its own transaction for the cursor
+        readOnlyTransaction.executeWithoutResult(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            try (Stream<SubscriptionEntity> rows = source.get()) {
+                if (format == ExportFormat.CSV) {
+                    writer.write(String.join(",", COLUMNS));
+                    writer.write('\n');
+                }
+                writer.flush();
+
+                int written = 0;
+                Iterator<SubscriptionEntity> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    SubscriptionEntity entity = iterator.next();
+                    if (format == ExportFormat.CSV) {
+                        writeCsv(writer, entity);
+                    } else {
+                        writeJson(writer, entity);
+                    }
+                    entityManager.detach(entity);
+
+                    if (++written % FLUSH_EVERY_ROWS == 0) {
+                        writer.flush();
+                    }
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeCsv(Writer writer, SubscriptionEntity entity) throws IOException {
+        writer.write(entity.getId().toString());
+        writer.write(',');
+        writer.write(entity.getUserId().toString());
+        writer.write(',');
+        writer.write(csvField(entity.getName()));
+        writer.write(',');
+        writer.write(entity.getPriceAmount().toPlainString());
+        writer.write(',');
+        writer.write(entity.getPriceCurrency());
+        writer.write(',');
+        writer.write(entity.getBillingCycle().name());
+        writer.write(',');
+        writer.write(entity.getNextPaymentDate().toString());
+        writer.write(',');
+        writer.write(entity.getAutoRenewal().toString());
+        writer.write(',');
+        writer.write(entity.getStatus().name());
+        writer.write('\n');
+    }
+
+    private void writeJson(Writer writer, SubscriptionEntity entity) throws IOException {
+        writer.write("{\"subscriptionId\":\"");
+        writer.write(entity.getId().toString());
+        writer.write("\",\"userId\":\"");
+        writer.write(entity.getUserId().toString());
+        writer.write("\",\"name\":");
+        writer.write(jsonString(entity.getName()));
+        writer.write(",\"price\":");
+        writer.write(entity.getPriceAmount().toPlainString());
+        writer.write(",\"currency\":\"");
+        writer.write(entity.getPriceCurrency());
+        writer.write("\",\"billingCycle\":\"");
+        writer.write(entity.getBillingCycle().name());
+        writer.write("\",\"nextPaymentDate\":\"");
+        writer.write(entity.getNextPaymentDate().toString());
+        writer.write("\",\"autoRenewal\":");
+        writer.write(entity.getAutoRenewal().toString());
+        writer.write(",\"status\":\"");
+        writer.write(entity.getStatus().name());
+        writer.write("\"}\n");
+    }
+
+    /**
+     * Quotes a CSV field when needed. A leading =, +, -, @, tab or carriage return would make
+     * spreadsheets evaluate the cell as a formula, so such values get a ' prefix.
+     */
+    static String csvField(String value) {
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    static String jsonString(String value) {
+        StringBuilder json = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        return json.append('"').toString();
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.subscriptionmanager.infrastructure.persistence.cache;
+
+import com.example.subscriptionmanager.domain.model.*;
+import com.example.subscriptionmanager.domain.repository.SubscriptionRepository;
+import com.example.subscriptionmanager.infrastructure.persistence.jpa.JpaSubscriptionRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * SubscriptionRepository that keeps each user's subscriptions in memory in front of the JPA one.
+ * One entry per user holds all of their subscriptions, the active list is filtered from it.
+ * Only findByUserId and findActiveByUserId are served from the cache, which today means the spending
+ * forecast. Listings are paged by SubscriptionQueryRepository and revalidated with ETags, and the monthly
+ * cost reads the few summary rows, so neither goes through this cache.
+ * Entries are bounded by the total number of cached subscriptions and expire after a TTL,
+ * which also bounds how long changes made outside this repository (e.g. renewals) stay unseen.
+ * Writes go to the database first and then drop the owner's entry.
+ * Hit rate, evictions and load latency are published as cache.* metrics named "subscriptions".
+ * Replaced by the in-memory repository under the "in-memory" profile.
+ */
+@Primary
+@Profile("!in-memory")
+@Component
+public class CachingSubscriptionRepository implements SubscriptionRepository {
+    private final JpaSubscriptionRepository delegate;
+    private final LoadingCache<UserId, List<Subscription>> byUser;
+
+    public CachingSubscriptionRepository(
+            JpaSubscriptionRepository delegate,
+            MeterRegistry meterRegistry,
+            @Value("${app.subscriptions.cache.max-subscriptions:100000}") long maxSubscriptions,
+            @Value("${app.subscriptions.cache.ttl:PT5M}") Duration ttl) {
+        this.delegate = delegate;
+        this.byUser = Caffeine.newBuilder()
+                .maximumWeight(maxSubscriptions)
+                // Users without subscriptions still take a slot
+                .weigher((UserId userId, List<Subscription> subscriptions) -> subscriptions.size() + 1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(userId -> List.copyOf(delegate.findByUserId(userId)));
+        CaffeineCacheMetrics.monitor(meterRegistry, byUser, "subscriptions");
+    }
+
+    @Override
+    public Subscription save(Subscription subscription) {
+        Subscription saved = delegate.save(subscription);
+        byUser.invalidate(subscription.getUserId());
+        return saved;
+    }
+
+    @Override
+    public void insertAll(List<Subscription> subscriptions) {
+        delegate.insertAll(subscriptions);
+        byUser.invalidateAll(subscriptions.stream().map(Subscription::getUserId).distinct().toList());
+    }
+
+    @Override
+    public Optional<Subscription> findById(SubscriptionId subscriptionId) {
+        return delegate.findById(subscriptionId);
+    }
+
+    /**
+     * Returns copies, so callers changing a subscription cannot change the cached one.
+     */
+    @Override
+    public List<Subscription> findByUserId(UserId userId) {
+        return byUser.get(userId).stream()
+                .map(CachingSubscriptionRepository::copyOf)
+                .toList();
+    }
+
+    @Override
+    public List<Subscription> findActiveByUserId(UserId userId) {
+        return byUser.get(userId).stream()
+                .filter(Subscription::isActive)
+                .map(CachingSubscriptionRepository::copyOf)
+                .toList();
+    }
+
+    @Override
+    public List<SubscriptionCostGroup> findActiveCostGroupsByUserId(UserId userId) {
+        return delegate.findActiveCostGroupsByUserId(userId);
+    }
+
+    @Override
+    public CancellationResult cancel(SubscriptionId subscriptionId, UserId userId) {
+        CancellationResult result = delegate.cancel(subscriptionId, userId);
+        if (result == CancellationResult.CANCELLED) {
+            byUser.invalidate(userId);
+        }
+        return result;
+    }
+
+    /**
+     * The owner comes with the call, so no lookup is needed to find the entry to drop.
+     */
+    @Override
+    public void delete(SubscriptionId subscriptionId, UserId userId) {
+        delegate.delete(subscriptionId, userId);
+        byUser.invalidate(userId);
+    }
+
+    @Override
+    public boolean existsById(SubscriptionId subscriptionId) {
+        return delegate.existsById(subscriptionId);
+    }
+
+    private static Subscription copyOf(Subscription subscription) {
+        return Subscription.restore(
+                subscription.getSubscriptionId(),
+                subscription.getUserId(),
+                subscription.getName(),
+                subscription.getPrice(),
+                subscription.getBillingCycle(),
+                subscription.getNextPaymentDate(),
+                subscription.isAutoRenewal(),
+                subscription.getStatus());
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.subscriptionmanager.infrastructure.persistence.jdbc;
+
+import com.example.subscriptionmanager.infrastructure.persistence.jpa.ExchangeRateEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Writes exchange rate rows with one JDBC batch of upserts.
+ * Entities with assigned composite ids would go through merge(), which selects every row first;
+ * the upsert overwrites a rate stored earlier for the same date without reading it.
+ */
+@Component
+public class JdbcExchangeRateBatchUpserter {
+    private static final String UPSERT_SQL =
+            "insert into exchange_rates (currency, effective_date, rate_to_pln, fetched_at) "
+                    + "values (?, ?, ?, ?) "
+                    + "on conflict (currency, effective_date) do update set "
+                    + "rate_to_pln = excluded.rate_to_pln, fetched_at = excluded.fetched_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcExchangeRateBatchUpserter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void upsert(List<ExchangeRateEntity> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+
+        // One NBP table holds a few dozen currencies, so a single batch is enough
+        jdbcTemplate.batchUpdate(UPSERT_SQL, entities, entities.size(), (ps, entity) -> {
+            ps.setString(1, entity.getCurrency());
+            ps.setDate(2, Date.valueOf(entity.getEffectiveDate()));
+            ps.setBigDecimal(3, entity.getRateToPln());
+            ps.setObject(4, entity.getFetchedAt().atOffset(ZoneOffset.UTC));
+        });
+    }
+}
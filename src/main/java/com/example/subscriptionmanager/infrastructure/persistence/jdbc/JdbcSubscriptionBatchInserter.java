@@ -0,0 +1,47 @@
+package com.example.subscriptionmanager.infrastructure.persistence.jdbc;
+
+import com.example.subscriptionmanager.infrastructure.persistence.jpa.SubscriptionEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.util.List;
+
+/**
+ * Inserts subscription rows with plain JDBC batches.
+ * Skips the select-before-insert that merge() does for entities with assigned ids,
+ * and joins the surrounding transaction like any other repository call.
+ */
+@Component
+public class JdbcSubscriptionBatchInserter {
+    private static final String INSERT_SQL =
+            "insert into subscriptions "
+                    + "(id, user_id, name, price_amount, price_currency, billing_cycle, "
+                    + "next_payment_date, auto_renewal, status) "
+                    + "values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcSubscriptionBatchInserter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insert(List<SubscriptionEntity> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, entities, BATCH_SIZE, (ps, entity) -> {
+            ps.setObject(1, entity.getId());
+            ps.setObject(2, entity.getUserId());
+            ps.setString(3, entity.getName());
+            ps.setBigDecimal(4, entity.getPriceAmount());
+            ps.setString(5, entity.getPriceCurrency());
+            ps.setString(6, entity.getBillingCycle().name());
+            ps.setDate(7, Date.valueOf(entity.getNextPaymentDate()));
+            ps.setBoolean(8, entity.getAutoRenewal());
+            ps.setString(9, entity.getStatus().name());
+        });
+    }
+}
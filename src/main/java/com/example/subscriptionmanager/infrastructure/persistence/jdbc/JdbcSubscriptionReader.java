@@ -0,0 +1,88 @@
+package com.example.subscriptionmanager.infrastructure.persistence.jdbc;
+
+import com.example.subscriptionmanager.domain.model.*;
+import com.example.subscriptionmanager.infrastructure.persistence.jpa.SubscriptionEntityMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reads subscriptions with plain JDBC and maps rows straight to domain objects.
+ * Nothing enters a persistence context, so there are no entity snapshots to keep for dirty checking.
+ * Used by JpaSubscriptionRepository when app.subscriptions.read-path=jdbc.
+ */
+@Component
+@Transactional(readOnly = true)
+public class JdbcSubscriptionReader {
+    private static final String SUBSCRIPTION_SELECT =
+            "select id, user_id, name, price_amount, price_currency, billing_cycle, "
+                    + "next_payment_date, auto_renewal, status "
+                    + "from subscriptions ";
+    private static final String FIND_BY_ID_SQL = SUBSCRIPTION_SELECT + "where id = ?";
+    private static final String FIND_BY_USER_SQL = SUBSCRIPTION_SELECT + "where user_id = ?";
+    private static final String FIND_ACTIVE_BY_USER_SQL = SUBSCRIPTION_SELECT + "where user_id = ? and status = 'ACTIVE'";
+    private static final String EXISTS_SQL = "select exists(select 1 from subscriptions where id = ?)";
+    private static final String COST_GROUPS_SQL =
+            "select price_currency, billing_cycle, total_amount, subscription_count "
+                    + "from subscription_cost_summaries "
+                    + "where user_id = ? and subscription_count > 0";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SubscriptionEntityMapper mapper;
+    private final RowMapper<Subscription> subscriptionRowMapper = this::mapSubscription;
+    private final RowMapper<SubscriptionCostGroup> costGroupRowMapper = this::mapCostGroup;
+
+    public JdbcSubscriptionReader(JdbcTemplate jdbcTemplate, SubscriptionEntityMapper mapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mapper = mapper;
+    }
+
+    public Optional<Subscription> findById(SubscriptionId subscriptionId) {
+        return jdbcTemplate.query(FIND_BY_ID_SQL, subscriptionRowMapper, subscriptionId.getValue())
+                .stream()
+                .findFirst();
+    }
+
+    public List<Subscription> findByUserId(UserId userId) {
+        return jdbcTemplate.query(FIND_BY_USER_SQL, subscriptionRowMapper, userId.getValue());
+    }
+
+    public List<Subscription> findActiveByUserId(UserId userId) {
+        return jdbcTemplate.query(FIND_ACTIVE_BY_USER_SQL, subscriptionRowMapper, userId.getValue());
+    }
+
+    public List<SubscriptionCostGroup> findActiveCostGroupsByUserId(UserId userId) {
+        return jdbcTemplate.query(COST_GROUPS_SQL, costGroupRowMapper, userId.getValue());
+    }
+
+    public boolean existsById(SubscriptionId subscriptionId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(EXISTS_SQL, Boolean.class, subscriptionId.getValue()));
+    }
+
+    private Subscription mapSubscription(ResultSet rs, int rowNum) throws SQLException {
+        return Subscription.restore(
+                new SubscriptionId(rs.getObject(1, UUID.class)),
+                new UserId(rs.getObject(2, UUID.class)),
+                rs.getString(3),
+                mapper.toMoney(rs.getBigDecimal(4), rs.getString(5)),
+                BillingCycle.valueOf(rs.getString(6)),
+                rs.getObject(7, LocalDate.class),
+                rs.getBoolean(8),
+                SubscriptionStatus.valueOf(rs.getString(9)));
+    }
+
+    private SubscriptionCostGroup mapCostGroup(ResultSet rs, int rowNum) throws SQLException {
+        return new SubscriptionCostGroup(
+                mapper.toMoney(rs.getBigDecimal(3), rs.getString(1)),
+                BillingCycle.valueOf(rs.getString(2)),
+                rs.getLong(4));
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.subscriptionmanager.infrastructure.persistence.jdbc;
+
+import com.example.subscriptionmanager.domain.model.BillingCycle;
+import com.example.subscriptionmanager.domain.model.Money;
+import com.example.subscriptionmanager.domain.model.SubscriptionCostGroup;
+import com.example.subscriptionmanager.domain.repository.SubscriptionCostReportRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * JDBC implementation of SubscriptionCostReportRepository.
+ * Splits the subscriptions primary key space into ranges, sums each range with its own query
+ * on a dedicated fork-join pool and merges the partial sums, so the scan spreads over all cores
+ * and over the connection pool instead of running as one long sequential query.
+ * Each chunk runs in its own read-only transaction, so the scan goes to the replica when one is usable.
+ * Chunks therefore read separate snapshots: writes committed while the report runs may be counted
+ * in some chunks and not in others, so the totals are not those of any single point in time.
+ */
+@Component
+public class ParallelSubscriptionCostReportRepository implements SubscriptionCostReportRepository, DisposableBean {
+    // Ranges are cut on the top 16 bits of the UUID, which are uniformly random for v4 ids
+    private static final int KEY_PREFIX_BITS = 16;
+    private static final int KEY_PREFIX_COUNT = 1 << KEY_PREFIX_BITS;
+
+    private static final String SUM_RANGE_SQL =
+            "select price_currency, billing_cycle, sum(price_amount), count(*) "
+                    + "from subscriptions "
+                    + "where status = 'ACTIVE' and id >= ? and id < ? "
+                    + "group by price_currency, billing_cycle";
+    private static final String SUM_LAST_RANGE_SQL =
+            "select price_currency, billing_cycle, sum(price_amount), count(*) "
+                    + "from subscriptions "
+                    + "where status = 'ACTIVE' and id >= ? "
+                    + "group by price_currency, billing_cycle";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int chunks;
+    private final ForkJoinPool pool;
+
+    public ParallelSubscriptionCostReportRepository(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.admin.report.chunks:256}") int chunks,
+            @Value("${app.admin.report.parallelism:0}") int parallelism) {
+        if (chunks < 1 || chunks > KEY_PREFIX_COUNT) {
+            throw new IllegalArgumentException("Report chunks must be between 1 and " + KEY_PREFIX_COUNT);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.chunks = chunks;
+        // Keep parallelism at or below the connection pool size, or chunks just queue for connections
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public List<SubscriptionCostGroup> sumActiveCostGroups() {
+        Map<GroupKey, PartialSum> sums = pool.invoke(new RangeTask(0, chunks));
+
+        List<SubscriptionCostGroup> groups = new ArrayList<>(sums.size());
+        for (Map.Entry<GroupKey, PartialSum> entry : sums.entrySet()) {
+            groups.add(new SubscriptionCostGroup(
+                    new Money(entry.getValue().total, Currency.getInstance(entry.getKey().currency)),
+                    BillingCycle.valueOf(entry.getKey().billingCycle),
+                    entry.getValue().count));
+        }
+        return groups;
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdown();
+    }
+
+    private Map<GroupKey, PartialSum> sumChunk(int chunk) {
+        UUID lowerBound = chunkBound(chunk);
+        Map<GroupKey, PartialSum> sums = new HashMap<>();
+
+        Object[] bounds = chunk == chunks - 1
+                ? new Object[]{lowerBound}
+                : new Object[]{lowerBound, chunkBound(chunk + 1)};
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(
+                chunk == chunks - 1 ? SUM_LAST_RANGE_SQL : SUM_RANGE_SQL, rs -> {
+                    sums.put(
+                            new GroupKey(rs.getString(1), rs.getString(2)),
+                            new PartialSum(rs.getBigDecimal(3), rs.getLong(4)));
+                }, bounds));
+
+        return sums;
+    }
+
+    private UUID chunkBound(int chunk) {
+        // Postgres orders uuid by unsigned bytes, so bounds only need the right bit pattern
+        long prefix = (long) chunk * KEY_PREFIX_COUNT / chunks;
+        return new UUID(prefix << (Long.SIZE - KEY_PREFIX_BITS), 0L);
+    }
+
+    private static Map<GroupKey, PartialSum> merge(Map<GroupKey, PartialSum> left, Map<GroupKey, PartialSum> right) {
+        right.forEach((key, sum) -> left.merge(key, sum, PartialSum::add));
+        return left;
+    }
+
+    /**
+     * Sums chunks [from, to), splitting in halves until a single chunk is left.
+     */
+    private class RangeTask extends RecursiveTask<Map<GroupKey, PartialSum>> {
+        private final int from;
+        private final int to;
+
+        RangeTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<GroupKey, PartialSum> compute() {
+            if (to - from == 1) {
+                return sumChunk(from);
+            }
+
+            int middle = (from + to) >>> 1;
+            RangeTask left = new RangeTask(from, middle);
+            left.fork();
+            Map<GroupKey, PartialSum> right = new RangeTask(middle, to).compute();
+            return merge(left.join(), right);
+        }
+    }
+
+    private record GroupKey(String currency, String billingCycle) {
+    }
+
+    private record PartialSum(BigDecimal total, long count) {
+        PartialSum add(PartialSum other) {
+            return new PartialSum(total.add(other.total), count + other.count);
+        }
+    }
+}
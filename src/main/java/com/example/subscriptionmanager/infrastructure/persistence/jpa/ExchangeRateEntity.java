@@ -0,0 +1,102 @@
+package com.example.subscriptionmanager.infrastructure.persistence.jpa;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * JPA Entity for a single NBP mid rate.
+ * Keyed by currency and the date the rate was effective on.
+ */
+@Entity
+@Table(name = "exchange_rates")
+public class ExchangeRateEntity {
+    @EmbeddedId
+    private ExchangeRateId id;
+
+    @Column(name = "rate_to_pln", nullable = false, precision = 19, scale = 8)
+    private BigDecimal rateToPln;
+
+    @Column(name = "fetched_at", nullable = false)
+    private Instant fetchedAt;
+
+    // JPA requires no-arg constructor
+    protected ExchangeRateEntity() {
+    }
+
+    public ExchangeRateEntity(String currency, LocalDate effectiveDate, BigDecimal rateToPln, Instant fetchedAt) {
+        this.id = new ExchangeRateId(currency, effectiveDate);
+        this.rateToPln = rateToPln;
+        this.fetchedAt = fetchedAt;
+    }
+
+    public ExchangeRateId getId() {
+        return id;
+    }
+
+    public String getCurrency() {
+        return id.getCurrency();
+    }
+
+    public LocalDate getEffectiveDate() {
+        return id.getEffectiveDate();
+    }
+
+    public BigDecimal getRateToPln() {
+        return rateToPln;
+    }
+
+    public void setRateToPln(BigDecimal rateToPln) {
+        this.rateToPln = rateToPln;
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public void setFetchedAt(Instant fetchedAt) {
+        this.fetchedAt = fetchedAt;
+    }
+
+    @Embeddable
+    public static class ExchangeRateId implements Serializable {
+        @Column(name = "currency", nullable = false, length = 3)
+        private String currency;
+
+        @Column(name = "effective_date", nullable = false)
+        private LocalDate effectiveDate;
+
+        protected ExchangeRateId() {
+        }
+
+        public ExchangeRateId(String currency, LocalDate effectiveDate) {
+            this.currency = currency;
+            this.effectiveDate = effectiveDate;
+        }
+
+        public String getCurrency() {
+            return currency;
+        }
+
+        public LocalDate getEffectiveDate() {
+            return effectiveDate;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ExchangeRateId that = (ExchangeRateId) o;
+            return Objects.equals(currency, that.currency) && Objects.equals(effectiveDate, that.effectiveDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(currency, effectiveDate);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.subscriptionmanager.infrastructure.persistence.jpa;
+
+import com.example.subscriptionmanager.infrastructure.exchange.ExchangeRateSnapshot;
+import com.example.subscriptionmanager.infrastructure.persistence.jdbc.JdbcExchangeRateBatchUpserter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Local store of NBP tables, one row per currency and effective date.
+ * Lets the exchange rate provider warm-start and answer historical lookups without NBP.
+ * Reads go through JPA, tables are written with one batch of upserts.
+ */
+@Component
+public class JpaExchangeRateStore {
+    private final SpringDataExchangeRateRepository springDataRepository;
+    private final JdbcExchangeRateBatchUpserter batchUpserter;
+
+    public JpaExchangeRateStore(
+            SpringDataExchangeRateRepository springDataRepository,
+            JdbcExchangeRateBatchUpserter batchUpserter) {
+        this.springDataRepository = springDataRepository;
+        this.batchUpserter = batchUpserter;
+    }
+
+    /**
+     * Finds the most recent stored table.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ExchangeRateSnapshot> findLatest() {
+        return springDataRepository.findLatestEffectiveDate()
+                .map(this::loadTable);
+    }
+
+    /**
+     * Finds the table that applied on the given date, i.e. the latest one published on or before it.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ExchangeRateSnapshot> findOnOrBefore(LocalDate date) {
+        return springDataRepository.findLatestEffectiveDateOnOrBefore(date)
+                .map(this::loadTable);
+    }
+
+    /**
+     * Stores a table, overwriting rates already stored for the same effective date.
+     */
+    @Transactional
+    public void save(ExchangeRateSnapshot snapshot) {
+        if (snapshot.isEmpty() || snapshot.getEffectiveDate() == null) {
+            return;
+        }
+
+        List<ExchangeRateEntity> entities = snapshot.getPlnRates().entrySet().stream()
+                .map(entry -> new ExchangeRateEntity(
+                        entry.getKey().getCurrencyCode(),
+                        snapshot.getEffectiveDate(),
+                        BigDecimal.valueOf(entry.getValue()),
+                        snapshot.getFetchedAt()))
+                .toList();
+
+        batchUpserter.upsert(entities);
+    }
+
+    private ExchangeRateSnapshot loadTable(LocalDate effectiveDate) {
+        Map<Currency, Double> rates = new HashMap<>();
+        Instant fetchedAt = Instant.EPOCH;
+
+        for (ExchangeRateEntity entity : springDataRepository.findByIdEffectiveDate(effectiveDate)) {
+            rates.put(Currency.getInstance(entity.getCurrency()), entity.getRateToPln().doubleValue());
+            if (entity.getFetchedAt().isAfter(fetchedAt)) {
+                fetchedAt = entity.getFetchedAt();
+            }
+        }
+
+        return new ExchangeRateSnapshot(effectiveDate, fetchedAt, rates);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.subscriptionmanager.infrastructure.persistence.jpa;
+
+import com.example.subscriptionmanager.application.query.SubscriptionCursor;
+import com.example.subscriptionmanager.application.query.SubscriptionFilter;
+import com.example.subscriptionmanager.application.query.SubscriptionQueryRepository;
+import com.example.subscriptionmanager.application.query.SubscriptionView;
+import com.example.subscriptionmanager.application.query.SubscriptionsVersion;
+import com.example.subscriptionmanager.domain.model.UserId;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JPA implementation of SubscriptionQueryRepository.
+ * Selects with constructor expressions, so rows never become managed entities.
+ * Only the filters actually given are added to the query, and paging continues after the
+ * last seen (next_payment_date, id), so every page is a bounded index range scan.
+ */
+@Component
+public class JpaSubscriptionQueryRepository implements SubscriptionQueryRepository {
+    private static final String VIEW_SELECT =
+            "select new com.example.subscriptionmanager.application.query.SubscriptionView("
+                    + "s.id, s.userId, s.name, s.priceAmount, s.priceCurrency, "
+                    + "cast(s.billingCycle as String), s.nextPaymentDate, s.autoRenewal, cast(s.status as String)) "
+                    + "from SubscriptionEntity s "
+                    + "where s.userId = :userId";
+    private static final String VERSION_SELECT =
+            "select new com.example.subscriptionmanager.application.query.SubscriptionsVersion("
+                    + "count(s), coalesce(sum(s.version), 0L), max(s.updatedAt)) "
+                    + "from SubscriptionEntity s "
+                    + "where s.userId = :userId";
+
+    private final EntityManager entityManager;
+
+    public JpaSubscriptionQueryRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SubscriptionView> findPage(UserId userId, SubscriptionFilter filter, SubscriptionCursor after, int limit) {
+        StringBuilder jpql = new StringBuilder(VIEW_SELECT);
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("userId", userId.getValue());
+
+        if (filter.status() != null) {
+            jpql.append(" and s.status = :status");
+            parameters.put("status", SubscriptionEntity.SubscriptionStatusEnum.valueOf(filter.status()));
+        }
+        if (filter.billingCycle() != null) {
+            jpql.append(" and s.billingCycle = :billingCycle");
+            parameters.put("billingCycle", SubscriptionEntity.BillingCycleEnum.valueOf(filter.billingCycle()));
+        }
+        if (filter.currency() != null) {
+            jpql.append(" and s.priceCurrency = :currency");
+            parameters.put("currency", filter.currency());
+        }
+        if (filter.paymentFrom() != null) {
+            jpql.append(" and s.nextPaymentDate >= :paymentFrom");
+            parameters.put("paymentFrom", filter.paymentFrom());
+        }
+        if (filter.paymentTo() != null) {
+            jpql.append(" and s.nextPaymentDate <= :paymentTo");
+            parameters.put("paymentTo", filter.paymentTo());
+        }
+        if (after != null) {
+            jpql.append(" and (s.nextPaymentDate > :afterDate"
+                    + " or (s.nextPaymentDate = :afterDate and s.id > :afterId))");
+            parameters.put("afterDate", after.nextPaymentDate());
+            parameters.put("afterId", after.subscriptionId());
+        }
+        jpql.append(" order by s.nextPaymentDate, s.id");
+
+        TypedQuery<SubscriptionView> query = entityManager.createQuery(jpql.toString(), SubscriptionView.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SubscriptionsVersion findVersion(UserId userId) {
+        return entityManager.createQuery(VERSION_SELECT, SubscriptionsVersion.class)
+                .setParameter("userId", userId.getValue())
+                .getSingleResult();
+    }
+}
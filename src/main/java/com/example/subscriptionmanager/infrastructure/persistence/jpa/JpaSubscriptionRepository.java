@@ -2,132 +2,200 @@ package com.example.subscriptionmanager.infrastructure.persistence.jpa;
 
 import com.example.subscriptionmanager.domain.model.*;
 import com.example.subscriptionmanager.domain.repository.SubscriptionRepository;
+import com.example.subscriptionmanager.infrastructure.persistence.jdbc.JdbcSubscriptionBatchInserter;
+import com.example.subscriptionmanager.infrastructure.persistence.jdbc.JdbcSubscriptionReader;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Currency;
+import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
  * JPA implementation of SubscriptionRepository.
  * Bridges domain and infrastructure layers.
+ * Keeps subscription_cost_summaries in step with every write, in the same transaction.
+ * With app.subscriptions.read-path=jdbc the read methods go through JdbcSubscriptionReader instead,
+ * so rows are mapped to domain objects without becoming managed entities first.
  */
 @Component
 public class JpaSubscriptionRepository implements SubscriptionRepository {
     private final SpringDataSubscriptionRepository springDataRepository;
-
-    public JpaSubscriptionRepository(SpringDataSubscriptionRepository springDataRepository) {
+    private final SpringDataSubscriptionCostSummaryRepository costSummaryRepository;
+    private final SubscriptionEntityMapper mapper;
+    private final JdbcSubscriptionBatchInserter batchInserter;
+    private final JdbcSubscriptionReader jdbcReader;
+    private final boolean jdbcReads;
+
+    public JpaSubscriptionRepository(
+            SpringDataSubscriptionRepository springDataRepository,
+            SpringDataSubscriptionCostSummaryRepository costSummaryRepository,
+            SubscriptionEntityMapper mapper,
+            JdbcSubscriptionBatchInserter batchInserter,
+            JdbcSubscriptionReader jdbcReader,
+            @Value("${app.subscriptions.read-path:jpa}") String readPath) {
         this.springDataRepository = springDataRepository;
+        this.costSummaryRepository = costSummaryRepository;
+        this.mapper = mapper;
+        this.batchInserter = batchInserter;
+        this.jdbcReader = jdbcReader;
+        this.jdbcReads = switch (readPath) {
+            case "jpa" -> false;
+            case "jdbc" -> true;
+            default -> throw new IllegalArgumentException("Unknown subscription read path: " + readPath);
+        };
     }
 
     @Override
+    @Transactional
     public Subscription save(Subscription subscription) {
-        SubscriptionEntity entity = toEntity(subscription);
-        SubscriptionEntity saved = springDataRepository.save(entity);
-        return toDomain(saved);
+        // Lock the current row so concurrent writes cannot both apply the same change to the summary
+        Optional<SubscriptionEntity> current = springDataRepository.findForUpdateByIdAndUserId(
+                subscription.getSubscriptionId().getValue(),
+                subscription.getUserId().getValue());
+        if (current.isEmpty()) {
+            // Not stored yet, so persist instead of merge, which would select the row a second time
+            SubscriptionEntity created = mapper.toEntity(subscription);
+            created.markNew();
+            SubscriptionEntity saved = springDataRepository.save(created);
+            adjustCostSummary(saved, 1);
+            return mapper.toDomain(saved);
+        }
+
+        SubscriptionEntity entity = current.get();
+        adjustCostSummary(entity, -1);
+        // Updating the managed row keeps its version, which a detached copy would not carry
+        mapper.copyTo(subscription, entity);
+        adjustCostSummary(entity, 1);
+
+        return mapper.toDomain(entity);
+    }
+
+    @Override
+    @Transactional
+    public void insertAll(List<Subscription> subscriptions) {
+        List<SubscriptionEntity> entities = subscriptions.stream()
+                .map(mapper::toEntity)
+                .toList();
+        batchInserter.insert(entities);
+
+        // One summary update per currency and billing cycle rather than per row
+        Map<SubscriptionCostSummaryEntity.SummaryId, BigDecimal> totals = new HashMap<>();
+        Map<SubscriptionCostSummaryEntity.SummaryId, Long> counts = new HashMap<>();
+        for (SubscriptionEntity entity : entities) {
+            if (entity.getStatus() != SubscriptionEntity.SubscriptionStatusEnum.ACTIVE) {
+                continue;
+            }
+            SubscriptionCostSummaryEntity.SummaryId key = new SubscriptionCostSummaryEntity.SummaryId(
+                    entity.getUserId(), entity.getPriceCurrency(), entity.getBillingCycle());
+            totals.merge(key, entity.getPriceAmount(), BigDecimal::add);
+            counts.merge(key, 1L, Long::sum);
+        }
+        totals.forEach((key, total) -> costSummaryRepository.addToSummary(
+                key.getUserId(),
+                key.getPriceCurrency(),
+                key.getBillingCycle().name(),
+                total,
+                counts.get(key)));
     }
 
     @Override
     public Optional<Subscription> findById(SubscriptionId subscriptionId) {
+        if (jdbcReads) {
+            return jdbcReader.findById(subscriptionId);
+        }
         return springDataRepository.findById(subscriptionId.getValue())
-                .map(this::toDomain);
+                .map(mapper::toDomain);
     }
 
     @Override
     public List<Subscription> findByUserId(UserId userId) {
+        if (jdbcReads) {
+            return jdbcReader.findByUserId(userId);
+        }
         return springDataRepository.findByUserId(userId.getValue())
                 .stream()
-                .map(this::toDomain)
+                .map(mapper::toDomain)
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<Subscription> findActiveByUserId(UserId userId) {
+        if (jdbcReads) {
+            return jdbcReader.findActiveByUserId(userId);
+        }
         return springDataRepository.findByUserIdAndStatus(
                         userId.getValue(),
                         SubscriptionEntity.SubscriptionStatusEnum.ACTIVE)
                 .stream()
-                .map(this::toDomain)
+                .map(mapper::toDomain)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public void delete(SubscriptionId subscriptionId) {
-        springDataRepository.deleteById(subscriptionId.getValue());
+    @Transactional(readOnly = true)
+    public List<SubscriptionCostGroup> findActiveCostGroupsByUserId(UserId userId) {
+        if (jdbcReads) {
+            return jdbcReader.findActiveCostGroupsByUserId(userId);
+        }
+        return costSummaryRepository.findByIdUserIdAndSubscriptionCountGreaterThan(userId.getValue(), 0)
+                .stream()
+                .map(summary -> new SubscriptionCostGroup(
+                        mapper.toMoney(summary.getTotalAmount(), summary.getPriceCurrency()),
+                        mapper.toDomain(summary.getBillingCycle()),
+                        summary.getSubscriptionCount()))
+                .collect(Collectors.toList());
     }
 
     @Override
-    public boolean existsById(SubscriptionId subscriptionId) {
-        return springDataRepository.existsById(subscriptionId.getValue());
-    }
-
-    private SubscriptionEntity toEntity(Subscription subscription) {
-        return new SubscriptionEntity(
-                subscription.getSubscriptionId().getValue(),
-                subscription.getUserId().getValue(),
-                subscription.getName(),
-                subscription.getPrice().getAmount(),
-                subscription.getPrice().getCurrencyCode(),
-                mapBillingCycle(subscription.getBillingCycle()),
-                subscription.getNextPaymentDate(),
-                subscription.isAutoRenewal(),
-                mapStatus(subscription.getStatus())
-        );
-    }
-
-    private Subscription toDomain(SubscriptionEntity entity) {
-        SubscriptionId subscriptionId = new SubscriptionId(entity.getId());
-        UserId userId = new UserId(entity.getUserId());
-        Money price = new Money(entity.getPriceAmount(), Currency.getInstance(entity.getPriceCurrency()));
-        BillingCycle billingCycle = mapBillingCycle(entity.getBillingCycle());
-        SubscriptionStatus status = mapStatus(entity.getStatus());
-
-        Subscription subscription = Subscription.create(
-                subscriptionId,
-                userId,
-                entity.getName(),
-                price,
-                billingCycle,
-                entity.getNextPaymentDate(),
-                entity.getAutoRenewal()
-        );
-
-        // If cancelled, we need to set status manually since create() sets it to ACTIVE
-        if (status == SubscriptionStatus.CANCELLED) {
-            subscription.cancel();
+    @Transactional
+    public CancellationResult cancel(SubscriptionId subscriptionId, UserId userId) {
+        if (springDataRepository.cancelActive(subscriptionId.getValue(), userId.getValue()) > 0) {
+            return CancellationResult.CANCELLED;
         }
 
-        return subscription;
+        // Only reached when nothing was cancelled, to tell the caller why
+        return springDataRepository.findStatusByIdAndUserId(subscriptionId.getValue(), userId.getValue())
+                .map(status -> CancellationResult.ALREADY_CANCELLED)
+                .orElse(CancellationResult.NOT_FOUND);
     }
 
-    private SubscriptionEntity.BillingCycleEnum mapBillingCycle(BillingCycle billingCycle) {
-        return switch (billingCycle) {
-            case MONTHLY -> SubscriptionEntity.BillingCycleEnum.MONTHLY;
-            case YEARLY -> SubscriptionEntity.BillingCycleEnum.YEARLY;
-            case TRIAL -> SubscriptionEntity.BillingCycleEnum.TRIAL;
-        };
+    @Override
+    @Transactional
+    public void delete(SubscriptionId subscriptionId, UserId userId) {
+        springDataRepository.findForUpdateByIdAndUserId(subscriptionId.getValue(), userId.getValue())
+                .ifPresent(previous -> {
+                    adjustCostSummary(previous, -1);
+                    springDataRepository.delete(previous);
+                });
     }
 
-    private BillingCycle mapBillingCycle(SubscriptionEntity.BillingCycleEnum billingCycle) {
-        return switch (billingCycle) {
-            case MONTHLY -> BillingCycle.MONTHLY;
-            case YEARLY -> BillingCycle.YEARLY;
-            case TRIAL -> BillingCycle.TRIAL;
-        };
+    @Override
+    public boolean existsById(SubscriptionId subscriptionId) {
+        if (jdbcReads) {
+            return jdbcReader.existsById(subscriptionId);
+        }
+        return springDataRepository.existsById(subscriptionId.getValue());
     }
 
-    private SubscriptionEntity.SubscriptionStatusEnum mapStatus(SubscriptionStatus status) {
-        return switch (status) {
-            case ACTIVE -> SubscriptionEntity.SubscriptionStatusEnum.ACTIVE;
-            case CANCELLED -> SubscriptionEntity.SubscriptionStatusEnum.CANCELLED;
-        };
-    }
+    /**
+     * Adds (sign 1) or removes (sign -1) an active subscription from its cost summary row.
+     */
+    private void adjustCostSummary(SubscriptionEntity entity, int sign) {
+        if (entity.getStatus() != SubscriptionEntity.SubscriptionStatusEnum.ACTIVE) {
+            return;
+        }
 
-    private SubscriptionStatus mapStatus(SubscriptionEntity.SubscriptionStatusEnum status) {
-        return switch (status) {
-            case ACTIVE -> SubscriptionStatus.ACTIVE;
-            case CANCELLED -> SubscriptionStatus.CANCELLED;
-        };
+        BigDecimal amount = entity.getPriceAmount();
+        costSummaryRepository.addToSummary(
+                entity.getUserId(),
+                entity.getPriceCurrency(),
+                entity.getBillingCycle().name(),
+                sign < 0 ? amount.negate() : amount,
+                sign);
     }
 }
@@ -4,6 +4,7 @@ import com.example.subscriptionmanager.domain.model.User;
 import com.example.subscriptionmanager.domain.model.UserId;
 import com.example.subscriptionmanager.domain.repository.UserRepository;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -19,10 +20,22 @@ public class JpaUserRepository implements UserRepository {
     }
 
     @Override
+    @Transactional
     public User save(User user) {
-        UserEntity entity = toEntity(user);
-        UserEntity saved = springDataRepository.save(entity);
-        return toDomain(saved);
+        Optional<UserEntity> current = springDataRepository.findById(user.getUserId().getValue());
+        if (current.isPresent()) {
+            // Changing the managed row lets Hibernate write only what changed
+            UserEntity entity = current.get();
+            entity.setEmail(user.getEmail());
+            entity.setPasswordHash(user.getPasswordHash());
+            entity.setActive(user.isActive());
+            return toDomain(entity);
+        }
+
+        // Not stored yet, so persist instead of merge, which would select the row a second time
+        UserEntity created = toEntity(user);
+        created.markNew();
+        return toDomain(springDataRepository.save(created));
     }
 
     @Override
@@ -52,11 +65,10 @@ public class JpaUserRepository implements UserRepository {
     }
 
     private User toDomain(UserEntity entity) {
-        UserId userId = new UserId(entity.getId());
-        User user = User.create(userId, entity.getEmail(), entity.getPasswordHash());
-        if (!entity.getActive()) {
-            user.deactivate();
-        }
-        return user;
+        return User.restore(
+                new UserId(entity.getId()),
+                entity.getEmail(),
+                entity.getPasswordHash(),
+                entity.getActive());
     }
 }
@@ -0,0 +1,26 @@
+package com.example.subscriptionmanager.infrastructure.persistence.jpa;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Spring Data JPA repository for ExchangeRateEntity.
+ */
+@Repository
+public interface SpringDataExchangeRateRepository
+        extends JpaRepository<ExchangeRateEntity, ExchangeRateEntity.ExchangeRateId> {
+
+    @Query("select max(r.id.effectiveDate) from ExchangeRateEntity r")
+    Optional<LocalDate> findLatestEffectiveDate();
+
+    @Query("select max(r.id.effectiveDate) from ExchangeRateEntity r where r.id.effectiveDate <= :date")
+    Optional<LocalDate> findLatestEffectiveDateOnOrBefore(@Param("date") LocalDate date);
+
+    List<ExchangeRateEntity> findByIdEffectiveDate(LocalDate effectiveDate);
+}
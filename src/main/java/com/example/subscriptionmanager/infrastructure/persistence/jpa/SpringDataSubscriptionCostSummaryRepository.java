@@ -0,0 +1,40 @@
+package com.example.subscriptionmanager.infrastructure.persistence.jpa;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Spring Data JPA repository for SubscriptionCostSummaryEntity.
+ */
+@Repository
+public interface SpringDataSubscriptionCostSummaryRepository
+        extends JpaRepository<SubscriptionCostSummaryEntity, SubscriptionCostSummaryEntity.SummaryId> {
+
+    List<SubscriptionCostSummaryEntity> findByIdUserIdAndSubscriptionCountGreaterThan(UUID userId, long subscriptionCount);
+
+    /**
+     * Adds the deltas to a summary row, creating it on first use.
+     * Done in one statement so concurrent writers for the same user cannot lose updates.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "insert into subscription_cost_summaries "
+            + "(user_id, price_currency, billing_cycle, total_amount, subscription_count) "
+            + "values (:userId, :priceCurrency, :billingCycle, :amountDelta, :countDelta) "
+            + "on conflict (user_id, price_currency, billing_cycle) do update set "
+            + "total_amount = subscription_cost_summaries.total_amount + excluded.total_amount, "
+            + "subscription_count = subscription_cost_summaries.subscription_count + excluded.subscription_count",
+            nativeQuery = true)
+    int addToSummary(
+            @Param("userId") UUID userId,
+            @Param("priceCurrency") String priceCurrency,
+            @Param("billingCycle") String billingCycle,
+            @Param("amountDelta") BigDecimal amountDelta,
+            @Param("countDelta") long countDelta);
+}
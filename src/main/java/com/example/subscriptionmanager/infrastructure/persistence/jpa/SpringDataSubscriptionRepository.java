@@ -1,10 +1,18 @@
 package com.example.subscriptionmanager.infrastructure.persistence.jpa;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA repository for SubscriptionEntity.
@@ -14,4 +22,60 @@ public interface SpringDataSubscriptionRepository extends JpaRepository<Subscrip
     List<SubscriptionEntity> findByUserId(UUID userId);
     
     List<SubscriptionEntity> findByUserIdAndStatus(UUID userId, SubscriptionEntity.SubscriptionStatusEnum status);
+
+    /**
+     * Finds a user's subscription and locks its row until the transaction ends.
+     * The user id lets Postgres go straight to the user's partition.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from SubscriptionEntity s where s.userId = :userId and s.id = :id")
+    Optional<SubscriptionEntity> findForUpdateByIdAndUserId(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    /**
+     * Cancels an active subscription owned by the user and takes it out of the cost summary,
+     * both in one statement.
+     * @return 1 if it was cancelled, 0 if it does not exist, belongs to someone else or is not active
+     */
+    @Query(value = "with cancelled as ("
+            + "update subscriptions set status = 'CANCELLED', "
+            + "version = version + 1, updated_at = current_timestamp "
+            + "where id = :id and user_id = :userId and status = 'ACTIVE' "
+            + "returning user_id, price_currency, billing_cycle, price_amount), "
+            + "summary as ("
+            + "update subscription_cost_summaries s set "
+            + "total_amount = s.total_amount - c.price_amount, "
+            + "subscription_count = s.subscription_count - 1 "
+            + "from cancelled c "
+            + "where s.user_id = c.user_id and s.price_currency = c.price_currency "
+            + "and s.billing_cycle = c.billing_cycle) "
+            + "select count(*) from cancelled",
+            nativeQuery = true)
+    long cancelActive(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    @Query("select s.status from SubscriptionEntity s where s.id = :id and s.userId = :userId")
+    Optional<SubscriptionEntity.SubscriptionStatusEnum> findStatusByIdAndUserId(
+            @Param("id") UUID id,
+            @Param("userId") UUID userId);
+
+    /**
+     * Streams a user's subscriptions through a server-side cursor, for exports.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("select s from SubscriptionEntity s where s.userId = :userId order by s.id")
+    Stream<SubscriptionEntity> streamByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Streams all subscriptions through a server-side cursor, for admin exports.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("select s from SubscriptionEntity s order by s.id")
+    Stream<SubscriptionEntity> streamAll();
 }
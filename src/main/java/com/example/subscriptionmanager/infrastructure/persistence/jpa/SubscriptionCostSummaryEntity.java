@@ -0,0 +1,103 @@
+package com.example.subscriptionmanager.infrastructure.persistence.jpa;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * JPA Entity for the running total of a user's active subscriptions
+ * sharing a currency and billing cycle.
+ * Maintained by JpaSubscriptionRepository on every subscription write.
+ */
+@Entity
+@Table(name = "subscription_cost_summaries")
+public class SubscriptionCostSummaryEntity {
+    @EmbeddedId
+    private SummaryId id;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "subscription_count", nullable = false)
+    private Long subscriptionCount;
+
+    // JPA requires no-arg constructor
+    protected SubscriptionCostSummaryEntity() {
+    }
+
+    public SummaryId getId() {
+        return id;
+    }
+
+    public UUID getUserId() {
+        return id.getUserId();
+    }
+
+    public String getPriceCurrency() {
+        return id.getPriceCurrency();
+    }
+
+    public SubscriptionEntity.BillingCycleEnum getBillingCycle() {
+        return id.getBillingCycle();
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public Long getSubscriptionCount() {
+        return subscriptionCount;
+    }
+
+    @Embeddable
+    public static class SummaryId implements Serializable {
+        @Column(name = "user_id", nullable = false, columnDefinition = "UUID")
+        private UUID userId;
+
+        @Column(name = "price_currency", nullable = false, length = 3)
+        private String priceCurrency;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "billing_cycle", nullable = false)
+        private SubscriptionEntity.BillingCycleEnum billingCycle;
+
+        protected SummaryId() {
+        }
+
+        public SummaryId(UUID userId, String priceCurrency, SubscriptionEntity.BillingCycleEnum billingCycle) {
+            this.userId = userId;
+            this.priceCurrency = priceCurrency;
+            this.billingCycle = billingCycle;
+        }
+
+        public UUID getUserId() {
+            return userId;
+        }
+
+        public String getPriceCurrency() {
+            return priceCurrency;
+        }
+
+        public SubscriptionEntity.BillingCycleEnum getBillingCycle() {
+            return billingCycle;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            SummaryId that = (SummaryId) o;
+            return Objects.equals(userId, that.userId)
+                    && Objects.equals(priceCurrency, that.priceCurrency)
+                    && billingCycle == that.billingCycle;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, priceCurrency, billingCycle);
+        }
+    }
+}
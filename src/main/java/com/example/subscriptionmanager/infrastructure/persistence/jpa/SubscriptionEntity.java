@@ -1,18 +1,22 @@
 package com.example.subscriptionmanager.infrastructure.persistence.jpa;
 
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 /**
  * JPA Entity for Subscription.
  * Maps domain model to database schema.
+ * JpaSubscriptionRepository marks it new once it found no stored row, so Spring Data persists it
+ * with a plain insert instead of a merge that selects by the assigned id first.
  */
 @Entity
 @Table(name = "subscriptions")
-public class SubscriptionEntity {
+public class SubscriptionEntity implements Persistable<UUID> {
     @Id
     @Column(name = "id", columnDefinition = "UUID")
     private UUID id;
@@ -43,6 +47,16 @@ public class SubscriptionEntity {
     @Column(name = "status", nullable = false)
     private SubscriptionStatusEnum status;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Transient
+    private boolean isNew;
+
     // JPA requires no-arg constructor
     protected SubscriptionEntity() {
     }
@@ -68,7 +82,29 @@ public class SubscriptionEntity {
         this.status = status;
     }
 
+    void markNew() {
+        this.isNew = true;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
     // Getters and setters
+    @Override
     public UUID getId() {
         return id;
     }
@@ -141,6 +177,14 @@ public class SubscriptionEntity {
         this.status = status;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
     // Enums for JPA
     public enum BillingCycleEnum {
         MONTHLY, YEARLY, TRIAL
@@ -0,0 +1,102 @@
+package com.example.subscriptionmanager.infrastructure.persistence.jpa;
+
+import com.example.subscriptionmanager.domain.model.*;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Maps between Subscription and SubscriptionEntity.
+ * Reads go through Subscription.restore, so loading rows never re-runs domain validation
+ * and never fails on data that was valid when it was written.
+ */
+@Component
+public class SubscriptionEntityMapper {
+    // Only a handful of currency codes ever appear, so each is looked up once
+    private final ConcurrentMap<String, Currency> currencies = new ConcurrentHashMap<>();
+
+    public SubscriptionEntity toEntity(Subscription subscription) {
+        return new SubscriptionEntity(
+                subscription.getSubscriptionId().getValue(),
+                subscription.getUserId().getValue(),
+                subscription.getName(),
+                subscription.getPrice().getAmount(),
+                subscription.getPrice().getCurrencyCode(),
+                toEntity(subscription.getBillingCycle()),
+                subscription.getNextPaymentDate(),
+                subscription.isAutoRenewal(),
+                toEntity(subscription.getStatus())
+        );
+    }
+
+    /**
+     * Copies the mutable state of a subscription onto its managed entity.
+     * Hibernate then writes only if something changed, bumping the version and updated_at.
+     */
+    public void copyTo(Subscription subscription, SubscriptionEntity entity) {
+        entity.setName(subscription.getName());
+        entity.setPriceAmount(subscription.getPrice().getAmount());
+        entity.setPriceCurrency(subscription.getPrice().getCurrencyCode());
+        entity.setBillingCycle(toEntity(subscription.getBillingCycle()));
+        entity.setNextPaymentDate(subscription.getNextPaymentDate());
+        entity.setAutoRenewal(subscription.isAutoRenewal());
+        entity.setStatus(toEntity(subscription.getStatus()));
+    }
+
+    public Subscription toDomain(SubscriptionEntity entity) {
+        return Subscription.restore(
+                new SubscriptionId(entity.getId()),
+                new UserId(entity.getUserId()),
+                entity.getName(),
+                toMoney(entity.getPriceAmount(), entity.getPriceCurrency()),
+                toDomain(entity.getBillingCycle()),
+                entity.getNextPaymentDate(),
+                entity.getAutoRenewal(),
+                toDomain(entity.getStatus())
+        );
+    }
+
+    /**
+     * Builds money from a stored DECIMAL(19, 2) amount without rescaling it.
+     */
+    public Money toMoney(BigDecimal amount, String currencyCode) {
+        return Money.restore(amount, toCurrency(currencyCode));
+    }
+
+    public Currency toCurrency(String currencyCode) {
+        return currencies.computeIfAbsent(currencyCode, Currency::getInstance);
+    }
+
+    public SubscriptionEntity.BillingCycleEnum toEntity(BillingCycle billingCycle) {
+        return switch (billingCycle) {
+            case MONTHLY -> SubscriptionEntity.BillingCycleEnum.MONTHLY;
+            case YEARLY -> SubscriptionEntity.BillingCycleEnum.YEARLY;
+            case TRIAL -> SubscriptionEntity.BillingCycleEnum.TRIAL;
+        };
+    }
+
+    public BillingCycle toDomain(SubscriptionEntity.BillingCycleEnum billingCycle) {
+        return switch (billingCycle) {
+            case MONTHLY -> BillingCycle.MONTHLY;
+            case YEARLY -> BillingCycle.YEARLY;
+            case TRIAL -> BillingCycle.TRIAL;
+        };
+    }
+
+    public SubscriptionEntity.SubscriptionStatusEnum toEntity(SubscriptionStatus status) {
+        return switch (status) {
+            case ACTIVE -> SubscriptionEntity.SubscriptionStatusEnum.ACTIVE;
+            case CANCELLED -> SubscriptionEntity.SubscriptionStatusEnum.CANCELLED;
+        };
+    }
+
+    public SubscriptionStatus toDomain(SubscriptionEntity.SubscriptionStatusEnum status) {
+        return switch (status) {
+            case ACTIVE -> SubscriptionStatus.ACTIVE;
+            case CANCELLED -> SubscriptionStatus.CANCELLED;
+        };
+    }
+}
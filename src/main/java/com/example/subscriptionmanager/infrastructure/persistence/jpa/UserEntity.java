@@ -1,17 +1,20 @@
 package com.example.subscriptionmanager.infrastructure.persistence.jpa;
 
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
 
 import java.util.UUID;
 
 /**
  * JPA Entity for User.
+ * JpaUserRepository marks it new once it found no stored row, so Spring Data persists it
+ * instead of merging, which would select by id a second time.
  */
 @Entity
 @Table(name = "users", uniqueConstraints = {
         @UniqueConstraint(columnNames = "email")
 })
-public class UserEntity {
+public class UserEntity implements Persistable<UUID> {
     @Id
     @Column(name = "id", columnDefinition = "UUID")
     private UUID id;
@@ -25,6 +28,9 @@ public class UserEntity {
     @Column(name = "active", nullable = false)
     private Boolean active;
 
+    @Transient
+    private boolean isNew;
+
     protected UserEntity() {
     }
 
@@ -35,6 +41,22 @@ public class UserEntity {
         this.active = active;
     }
 
+    void markNew() {
+        this.isNew = true;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @Override
     public UUID getId() {
         return id;
     }
@@ -0,0 +1,455 @@
+package com.example.subscriptionmanager.infrastructure.persistence.memory;
+
+import com.example.subscriptionmanager.domain.model.*;
+import com.example.subscriptionmanager.domain.repository.SubscriptionRepository;
+import com.example.subscriptionmanager.infrastructure.persistence.jpa.JpaSubscriptionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * SubscriptionRepository that serves reads and writes from memory and persists in the background.
+ * Active with the "in-memory" profile, for edge and demo deployments and performance tests.
+ * Each user's subscriptions live in a bucket, loaded from the database on first use and then kept.
+ * Buckets are spread over a fixed set of stripes, each guarded by its own read-write lock.
+ * The first load queries the database without holding the lock, so it only delays that user.
+ *
+ * Durability contract: a write is acknowledged once it is applied in memory. Pending writes are
+ * coalesced per subscription, so only the latest state is written, and flushed to the JPA repository
+ * every flush interval and on shutdown. A crash loses at most the writes of the last interval.
+ * A write that keeps failing is retried on the following flushes and dropped after max-attempts,
+ * with an error logged and subscriptions.write_behind.dropped counted.
+ * Readers that go to the database directly (listings, exports, reports) see changes only after the flush,
+ * and the repository must be the only writer, so it fits single-instance deployments.
+ * For the same reason the renewal job and HTTP ETags are off under this profile.
+ */
+@Primary
+@Profile("in-memory")
+@Component
+public class InMemorySubscriptionRepository implements SubscriptionRepository {
+    private static final Logger log = LoggerFactory.getLogger(InMemorySubscriptionRepository.class);
+    static final int STRIPES = 64;
+
+    private final JpaSubscriptionRepository delegate;
+    private final int flushBatchSize;
+    private final int maxAttempts;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final Map<SubscriptionId, UserId> owners = new ConcurrentHashMap<>();
+    // Latest unwritten change per subscription
+    private final Map<SubscriptionId, PendingWrite> pending = new ConcurrentHashMap<>();
+    // Subscriptions whose row is in the database or has an insert queued or running
+    private final Set<SubscriptionId> stored = ConcurrentHashMap.newKeySet();
+    private final Counter flushFailures;
+    private final Counter droppedWrites;
+
+    public InMemorySubscriptionRepository(
+            JpaSubscriptionRepository delegate,
+            MeterRegistry meterRegistry,
+            @Value("${app.subscriptions.in-memory.flush-batch-size:1000}") int flushBatchSize,
+            @Value("${app.subscriptions.in-memory.max-attempts:5}") int maxAttempts) {
+        if (flushBatchSize < 1) {
+            throw new IllegalArgumentException("Flush batch size must be positive");
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max write attempts must be positive");
+        }
+        this.delegate = delegate;
+        this.flushBatchSize = flushBatchSize;
+        this.maxAttempts = maxAttempts;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+        Gauge.builder("subscriptions.write_behind.pending", pending, Map::size)
+                .description("Subscription changes applied in memory but not yet written to the database")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("subscriptions.write_behind.failures")
+                .description("Subscription writes that failed and were queued again")
+                .register(meterRegistry);
+        this.droppedWrites = Counter.builder("subscriptions.write_behind.dropped")
+                .description("Subscription writes given up after failing max-attempts times")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Subscription save(Subscription subscription) {
+        UserId userId = subscription.getUserId();
+        Stripe stripe = stripeFor(userId);
+        Subscription copy = copyOf(subscription);
+        ensureLoaded(stripe, userId);
+
+        stripe.lock.writeLock().lock();
+        try {
+            stripe.buckets.get(userId).put(copy.getSubscriptionId(), copy);
+            owners.put(copy.getSubscriptionId(), userId);
+            enqueue(copy.getSubscriptionId(), PendingWrite.upsert(copy));
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+        return copyOf(copy);
+    }
+
+    @Override
+    public void insertAll(List<Subscription> subscriptions) {
+        for (Subscription subscription : subscriptions) {
+            save(subscription);
+        }
+    }
+
+    @Override
+    public Optional<Subscription> findById(SubscriptionId subscriptionId) {
+        UserId userId = owners.get(subscriptionId);
+        if (userId == null) {
+            if (pending.containsKey(subscriptionId)) {
+                // Deleted in memory, the row is still in the database until the next flush
+                return Optional.empty();
+            }
+            // Not in a loaded bucket yet - find the owner and load their bucket
+            Optional<Subscription> found = delegate.findById(subscriptionId);
+            if (found.isEmpty()) {
+                return Optional.empty();
+            }
+            userId = found.get().getUserId();
+        }
+
+        Stripe stripe = stripeFor(userId);
+        UserId owner = userId;
+        return withBucket(stripe, owner, bucket -> Optional.ofNullable(bucket.get(subscriptionId))
+                .map(InMemorySubscriptionRepository::copyOf));
+    }
+
+    @Override
+    public List<Subscription> findByUserId(UserId userId) {
+        return withBucket(stripeFor(userId), userId, bucket -> bucket.values().stream()
+                .map(InMemorySubscriptionRepository::copyOf)
+                .toList());
+    }
+
+    @Override
+    public List<Subscription> findActiveByUserId(UserId userId) {
+        return withBucket(stripeFor(userId), userId, bucket -> bucket.values().stream()
+                .filter(Subscription::isActive)
+                .map(InMemorySubscriptionRepository::copyOf)
+                .toList());
+    }
+
+    @Override
+    public List<SubscriptionCostGroup> findActiveCostGroupsByUserId(UserId userId) {
+        return withBucket(stripeFor(userId), userId, bucket -> {
+            Map<Currency, Map<BillingCycle, BigDecimal>> totals = new HashMap<>();
+            Map<Currency, Map<BillingCycle, Long>> counts = new HashMap<>();
+            for (Subscription subscription : bucket.values()) {
+                if (!subscription.isActive()) {
+                    continue;
+                }
+                Currency currency = subscription.getPrice().getCurrency();
+                totals.computeIfAbsent(currency, c -> new EnumMap<>(BillingCycle.class))
+                        .merge(subscription.getBillingCycle(), subscription.getPrice().getAmount(), BigDecimal::add);
+                counts.computeIfAbsent(currency, c -> new EnumMap<>(BillingCycle.class))
+                        .merge(subscription.getBillingCycle(), 1L, Long::sum);
+            }
+
+            List<SubscriptionCostGroup> groups = new ArrayList<>();
+            totals.forEach((currency, byCycle) -> byCycle.forEach((billingCycle, total) -> groups.add(
+                    new SubscriptionCostGroup(
+                            Money.restore(total, currency),
+                            billingCycle,
+                            counts.get(currency).get(billingCycle)))));
+            return groups;
+        });
+    }
+
+    @Override
+    public CancellationResult cancel(SubscriptionId subscriptionId, UserId userId) {
+        Stripe stripe = stripeFor(userId);
+        ensureLoaded(stripe, userId);
+
+        stripe.lock.writeLock().lock();
+        try {
+            Subscription current = stripe.buckets.get(userId).get(subscriptionId);
+            if (current == null) {
+                return CancellationResult.NOT_FOUND;
+            }
+            if (!current.isActive()) {
+                return CancellationResult.ALREADY_CANCELLED;
+            }
+
+            Subscription cancelled = copyOf(current);
+            cancelled.cancel();
+            stripe.buckets.get(userId).put(subscriptionId, cancelled);
+            enqueue(subscriptionId, PendingWrite.upsert(cancelled));
+            return CancellationResult.CANCELLED;
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(SubscriptionId subscriptionId, UserId userId) {
+        Stripe stripe = stripeFor(userId);
+        ensureLoaded(stripe, userId);
+
+        stripe.lock.writeLock().lock();
+        try {
+            if (stripe.buckets.get(userId).remove(subscriptionId) == null) {
+                return;
+            }
+            owners.remove(subscriptionId);
+            enqueue(subscriptionId, PendingWrite.delete(userId));
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existsById(SubscriptionId subscriptionId) {
+        return findById(subscriptionId).isPresent();
+    }
+
+    /**
+     * Writes pending changes to the database in batches: inserts through one batched insert,
+     * updates and deletes one by one. Only the writes that failed are queued again, and a newer
+     * change to the same subscription replaces them. Stops at the first batch with a failure,
+     * the rest waits for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${app.subscriptions.in-memory.flush-interval:PT1S}")
+    public synchronized void flush() {
+        // Bounded by what was pending on entry, so writes queued meanwhile wait for the next flush
+        int remaining = pending.size();
+        while (remaining > 0 && !pending.isEmpty()) {
+            Map<SubscriptionId, PendingWrite> batch = takeBatch();
+            remaining -= batch.size();
+
+            Map<SubscriptionId, PendingWrite> failed = write(batch);
+            if (!failed.isEmpty()) {
+                log.warn("{} of {} subscription changes could not be written, retrying on the next flush",
+                        failed.size(), batch.size());
+                failed.forEach(this::retryLater);
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        if (!pending.isEmpty()) {
+            log.error("{} subscription changes could not be written before shutdown", pending.size());
+        }
+    }
+
+    private Map<SubscriptionId, PendingWrite> takeBatch() {
+        Map<SubscriptionId, PendingWrite> batch = new LinkedHashMap<>();
+        for (SubscriptionId subscriptionId : pending.keySet()) {
+            if (batch.size() == flushBatchSize) {
+                break;
+            }
+            PendingWrite write = pending.remove(subscriptionId);
+            if (write != null) {
+                batch.put(subscriptionId, write);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Applies a batch and returns the writes that failed. Every other write is committed.
+     */
+    private Map<SubscriptionId, PendingWrite> write(Map<SubscriptionId, PendingWrite> batch) {
+        Map<SubscriptionId, PendingWrite> failed = new LinkedHashMap<>();
+
+        Map<SubscriptionId, PendingWrite> inserts = new LinkedHashMap<>();
+        batch.forEach((subscriptionId, write) -> {
+            if (write.subscription() != null && write.insert()) {
+                inserts.put(subscriptionId, write);
+            }
+        });
+        if (!inserts.isEmpty()) {
+            try {
+                delegate.insertAll(inserts.values().stream().map(PendingWrite::subscription).toList());
+            } catch (DataIntegrityViolationException e) {
+                // One bad row rolls back the whole batch, so insert one by one to keep the good ones
+                inserts.forEach((subscriptionId, write) -> apply(subscriptionId, write,
+                        () -> delegate.insertAll(List.of(write.subscription())), failed));
+            } catch (RuntimeException e) {
+                log.warn("Inserting {} subscriptions failed: {}", inserts.size(), e.getMessage());
+                failed.putAll(inserts);
+            }
+        }
+
+        batch.forEach((subscriptionId, write) -> {
+            if (write.subscription() == null) {
+                apply(subscriptionId, write, () -> {
+                    delegate.delete(subscriptionId, write.userId());
+                    stored.remove(subscriptionId);
+                }, failed);
+            } else if (!write.insert()) {
+                apply(subscriptionId, write, () -> delegate.save(write.subscription()), failed);
+            }
+        });
+        return failed;
+    }
+
+    private void apply(
+            SubscriptionId subscriptionId,
+            PendingWrite write,
+            Runnable action,
+            Map<SubscriptionId, PendingWrite> failed) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            log.warn("Writing subscription {} failed: {}", subscriptionId.getValue(), e.getMessage());
+            failed.put(subscriptionId, write);
+        }
+    }
+
+    /**
+     * Records a change, merged with any change still waiting for the same subscription.
+     */
+    private void enqueue(SubscriptionId subscriptionId, PendingWrite write) {
+        pending.compute(subscriptionId, (id, previous) -> {
+            boolean queuedInsert = previous != null && previous.insert();
+            if (write.subscription() == null) {
+                if (queuedInsert) {
+                    // Never written, so there is nothing to delete either
+                    stored.remove(id);
+                    return null;
+                }
+                return write;
+            }
+            if (stored.add(id)) {
+                return new PendingWrite(write.userId(), write.subscription(), true, 0);
+            }
+            return new PendingWrite(write.userId(), write.subscription(), queuedInsert, 0);
+        });
+    }
+
+    /**
+     * Queues a failed write again, unless a newer change replaced it or it ran out of attempts.
+     */
+    private void retryLater(SubscriptionId subscriptionId, PendingWrite failed) {
+        flushFailures.increment();
+        pending.compute(subscriptionId, (id, newer) -> {
+            if (newer == null) {
+                int attempts = failed.attempts() + 1;
+                if (attempts < maxAttempts) {
+                    return new PendingWrite(failed.userId(), failed.subscription(), failed.insert(), attempts);
+                }
+                droppedWrites.increment();
+                log.error("Dropping change to subscription {} after {} failed attempts", id.getValue(), attempts);
+                if (failed.insert()) {
+                    // The row was never written, a later change has to insert it
+                    stored.remove(id);
+                }
+                return null;
+            }
+            // A newer state wins, but the row still has to be inserted if the failed write was the insert
+            if (newer.subscription() == null && failed.insert()) {
+                stored.remove(id);
+                return null;
+            }
+            return newer.subscription() == null
+                    ? newer
+                    : new PendingWrite(newer.userId(), newer.subscription(), newer.insert() || failed.insert(), newer.attempts());
+        });
+    }
+
+    private <T> T withBucket(Stripe stripe, UserId userId, Function<Map<SubscriptionId, Subscription>, T> reader) {
+        ensureLoaded(stripe, userId);
+        stripe.lock.readLock().lock();
+        try {
+            return reader.apply(stripe.buckets.get(userId));
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Loads the user's bucket from the database on first use. Buckets are never removed,
+     * so once this returns the caller can take the lock and find the bucket in place.
+     */
+    private void ensureLoaded(Stripe stripe, UserId userId) {
+        stripe.lock.readLock().lock();
+        try {
+            if (stripe.buckets.containsKey(userId)) {
+                return;
+            }
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+
+        // Query without the lock, so other users on this stripe are not blocked by the round trip
+        List<Subscription> loaded = delegate.findByUserId(userId);
+
+        stripe.lock.writeLock().lock();
+        try {
+            if (stripe.buckets.containsKey(userId)) {
+                // Another thread loaded it meanwhile and may already have changed it
+                return;
+            }
+            Map<SubscriptionId, Subscription> bucket = new LinkedHashMap<>();
+            for (Subscription subscription : loaded) {
+                if (pending.containsKey(subscription.getSubscriptionId())) {
+                    // Deleted in memory before this bucket was loaded
+                    continue;
+                }
+                bucket.put(subscription.getSubscriptionId(), subscription);
+                owners.put(subscription.getSubscriptionId(), userId);
+                stored.add(subscription.getSubscriptionId());
+            }
+            stripe.buckets.put(userId, bucket);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    private Stripe stripeFor(UserId userId) {
+        return stripes[Math.floorMod(userId.hashCode(), STRIPES)];
+    }
+
+    private static Subscription copyOf(Subscription subscription) {
+        return Subscription.restore(
+                subscription.getSubscriptionId(),
+                subscription.getUserId(),
+                subscription.getName(),
+                subscription.getPrice(),
+                subscription.getBillingCycle(),
+                subscription.getNextPaymentDate(),
+                subscription.isAutoRenewal(),
+                subscription.getStatus());
+    }
+
+    private static final class Stripe {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<UserId, Map<SubscriptionId, Subscription>> buckets = new HashMap<>();
+    }
+
+    /**
+     * Latest state to write for one subscription of the user, or null for a delete.
+     * insert is set while the row has never been written, attempts counts failed flushes of this state.
+     */
+    private record PendingWrite(UserId userId, Subscription subscription, boolean insert, int attempts) {
+        static PendingWrite upsert(Subscription subscription) {
+            return new PendingWrite(subscription.getUserId(), subscription, false, 0);
+        }
+
+        static PendingWrite delete(UserId userId) {
+            return new PendingWrite(userId, null, false, 0);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.subscriptionmanager.infrastructure.persistence.routing;
+
+import com.example.subscriptionmanager.infrastructure.security.CurrentUser;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * Falls back to the primary while the replica lags too far behind, and for a user who wrote
+ * recently, so they read their own writes.
+ * Must sit behind a LazyConnectionDataSourceProxy, which defers picking a connection until the
+ * transaction's read-only flag is known.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final RecentWriters recentWriters;
+
+    public ReadWriteRoutingDataSource(
+            DataSource primary,
+            DataSource replica,
+            ReplicaLagMonitor lagMonitor,
+            RecentWriters recentWriters) {
+        this.lagMonitor = lagMonitor;
+        this.recentWriters = recentWriters;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Optional<String> userId = CurrentUser.findUserId();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                userId.ifPresent(recentWriters::recordWrite);
+            }
+            return Route.PRIMARY;
+        }
+
+        if (!lagMonitor.isReplicaUsable() || userId.filter(recentWriters::wroteRecently).isPresent()) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.subscriptionmanager.infrastructure.persistence.routing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+
+/**
+ * Remembers which users wrote within the last few seconds, so their reads stay on the primary
+ * until the replica has caught up with their writes.
+ * Kept per instance, so the window should be at least as long as a typical replica lag.
+ */
+public class RecentWriters {
+    private final Cache<String, Boolean> writers;
+
+    public RecentWriters(Duration window, long maxUsers) {
+        this(window, maxUsers, Ticker.systemTicker());
+    }
+
+    RecentWriters(Duration window, long maxUsers, Ticker ticker) {
+        this.writers = Caffeine.newBuilder()
+                .ticker(ticker)
+                .expireAfterWrite(window)
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    public void recordWrite(String userId) {
+        writers.put(userId, Boolean.TRUE);
+    }
+
+    public boolean wroteRecently(String userId) {
+        return writers.getIfPresent(userId) != null;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.subscriptionmanager.infrastructure.persistence.routing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Periodically measures how far the replica's replay is behind the primary.
+ * The replica is usable only while the last check succeeded and the lag was within the limit.
+ * The replica's position is compared with the primary's current WAL position, not with what the
+ * replica itself received, so a replica whose WAL receiver disconnected shows a growing lag.
+ */
+public class ReplicaLagMonitor {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String PRIMARY_LSN_SQL = "select pg_current_wal_lsn()::text";
+    // A replica that has replayed up to the primary's position is not behind, however old the last
+    // transaction is. Otherwise the lag is the age of the last replayed transaction; NULL (never replayed,
+    // or not a replica at all) makes the replica unusable.
+    private static final String LAG_SQL =
+            "select case when pg_last_wal_replay_lsn() >= cast(? as pg_lsn) then 0 "
+                    + "else extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000 end";
+
+    private final JdbcTemplate primaryJdbcTemplate;
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final Duration maxLag;
+    private volatile boolean usable;
+    private volatile double lagMillis = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag, MeterRegistry meterRegistry) {
+        this.primaryJdbcTemplate = new JdbcTemplate(primary);
+        this.primaryJdbcTemplate.setQueryTimeout(2);
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.replicaJdbcTemplate.setQueryTimeout(2);
+        this.maxLag = maxLag;
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagMillis)
+                .description("Replay lag of the read replica in milliseconds, NaN when it cannot be checked")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:PT5S}")
+    public void check() {
+        try {
+            // Read first, so a replica that is streaming has had time to replay up to it
+            String primaryLsn = primaryJdbcTemplate.queryForObject(PRIMARY_LSN_SQL, String.class);
+            Double lag = replicaJdbcTemplate.queryForObject(LAG_SQL, Double.class, primaryLsn);
+            lagMillis = lag == null ? Double.NaN : lag;
+            boolean nowUsable = lag != null && lag <= maxLag.toMillis();
+            if (nowUsable != usable) {
+                log.info("Read replica {} (lag {} ms)", nowUsable ? "in use" : "bypassed", lag);
+            }
+            usable = nowUsable;
+        } catch (Exception e) {
+            lagMillis = Double.NaN;
+            if (usable) {
+                log.warn("Read replica bypassed, lag check failed: {}", e.getMessage());
+            }
+            usable = false;
+        }
+    }
+}
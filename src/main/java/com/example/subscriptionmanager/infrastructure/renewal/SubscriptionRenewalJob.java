@@ -0,0 +1,131 @@
+package com.example.subscriptionmanager.infrastructure.renewal;
+
+import com.example.subscriptionmanager.domain.model.BillingCycle;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Advances nextPaymentDate of auto-renewing subscriptions once their payment date has passed.
+ * Works in chunks, each locked with FOR UPDATE SKIP LOCKED and written with one JDBC batch
+ * in its own transaction, so several nodes can run the job at once on disjoint rows.
+ * Publishes processed count, chunk latency and remaining backlog as metrics.
+ * Off under the "in-memory" profile, whose repository would write its older dates back over the renewals.
+ */
+@Profile("!in-memory")
+@Component
+public class SubscriptionRenewalJob {
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionRenewalJob.class);
+
+    private static final String DUE_CONDITION =
+            "status = 'ACTIVE' and auto_renewal = true and billing_cycle <> 'TRIAL' and next_payment_date < ?";
+    private static final String LOCK_DUE_SQL =
+            "select id, user_id, billing_cycle, next_payment_date from subscriptions "
+                    + "where " + DUE_CONDITION + " "
+                    + "order by next_payment_date "
+                    + "limit ? "
+                    + "for update skip locked";
+    private static final String COUNT_DUE_SQL =
+            "select count(*) from subscriptions where " + DUE_CONDITION;
+    private static final String ADVANCE_SQL =
+            "update subscriptions set next_payment_date = ?, version = version + 1, updated_at = current_timestamp "
+                    + "where user_id = ? and id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Counter renewed;
+    private final Timer chunkTimer;
+    private final AtomicLong backlog = new AtomicLong();
+
+    public SubscriptionRenewalJob(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.renewals.chunk-size:500}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Renewal chunk size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.renewed = Counter.builder("subscriptions.renewals.processed")
+                .description("Subscriptions whose next payment date was advanced")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("subscriptions.renewals.chunk")
+                .description("Time to lock, advance and commit one chunk of renewals")
+                .register(meterRegistry);
+        Gauge.builder("subscriptions.renewals.backlog", backlog, AtomicLong::get)
+                .description("Due subscriptions left after the last run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.renewals.interval:PT5M}")
+    public void scheduledRun() {
+        int total = renewDue(LocalDate.now());
+        if (total > 0) {
+            log.info("Advanced next payment date of {} subscriptions", total);
+        }
+    }
+
+    /**
+     * Renews every subscription whose payment date is before today, chunk by chunk.
+     * @return number of subscriptions advanced by this node
+     */
+    public int renewDue(LocalDate today) {
+        int total = 0;
+        int processed;
+        do {
+            Timer.Sample sample = Timer.start();
+            processed = renewChunk(today);
+            sample.stop(chunkTimer);
+            renewed.increment(processed);
+            total += processed;
+        } while (processed == chunkSize);
+
+        backlog.set(countDue(today));
+        return total;
+    }
+
+    private int renewChunk(LocalDate today) {
+        Integer processed = transactionTemplate.execute(status -> {
+            List<Object[]> updates = new ArrayList<>(chunkSize);
+            jdbcTemplate.query(LOCK_DUE_SQL, rs -> {
+                BillingCycle billingCycle = BillingCycle.valueOf(rs.getString("billing_cycle"));
+                LocalDate paymentDate = rs.getObject("next_payment_date", LocalDate.class);
+                updates.add(new Object[]{
+                        Date.valueOf(billingCycle.advancePaymentDate(paymentDate, today)),
+                        rs.getObject("user_id", UUID.class),
+                        rs.getObject("id", UUID.class)
+                });
+            }, Date.valueOf(today), chunkSize);
+
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(ADVANCE_SQL, updates);
+            }
+            return updates.size();
+        });
+        return processed == null ? 0 : processed;
+    }
+
+    private long countDue(LocalDate today) {
+        Long due = jdbcTemplate.queryForObject(COUNT_DUE_SQL, Long.class, Date.valueOf(today));
+        return due == null ? 0L : due;
+    }
+}
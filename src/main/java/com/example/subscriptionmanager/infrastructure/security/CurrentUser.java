@@ -3,15 +3,25 @@ package com.example.subscriptionmanager.infrastructure.security;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.util.Optional;
+
 /**
  * Utility class to get current authenticated user ID.
  */
 public class CurrentUser {
     public static String getUserId() {
+        return findUserId()
+                .orElseThrow(() -> new IllegalStateException("User not authenticated"));
+    }
+
+    /**
+     * Gets the current user ID, or empty outside an authenticated request, e.g. in scheduled jobs.
+     */
+    public static Optional<String> findUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.getPrincipal() instanceof String) {
-            return (String) authentication.getPrincipal();
+        if (authentication != null && authentication.getPrincipal() instanceof String userId) {
+            return Optional.of(userId);
         }
-        throw new IllegalStateException("User not authenticated");
+        return Optional.empty();
     }
 }
@@ -0,0 +1,50 @@
+package com.example.subscriptionmanager.presentation.controller;
+
+import com.example.subscriptionmanager.application.query.ExportFormat;
+import com.example.subscriptionmanager.application.usecase.ExportSubscriptionsUseCase;
+import com.example.subscriptionmanager.application.usecase.GenerateSpendReportUseCase;
+import com.example.subscriptionmanager.presentation.mapper.SubscriptionMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * REST Controller for operations reports. Restricted to admins.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+    private final GenerateSpendReportUseCase generateSpendReportUseCase;
+    private final ExportSubscriptionsUseCase exportSubscriptionsUseCase;
+    private final SubscriptionMapper mapper;
+
+    public AdminController(
+            GenerateSpendReportUseCase generateSpendReportUseCase,
+            ExportSubscriptionsUseCase exportSubscriptionsUseCase,
+            SubscriptionMapper mapper) {
+        this.generateSpendReportUseCase = generateSpendReportUseCase;
+        this.exportSubscriptionsUseCase = exportSubscriptionsUseCase;
+        this.mapper = mapper;
+    }
+
+    @GetMapping("/reports/spend")
+    public ResponseEntity<SubscriptionMapper.SpendReportResponse> spendReport(
+            @RequestParam(required = false) String currency) {
+        return ResponseEntity.ok(mapper.toResponse(generateSpendReportUseCase.execute(currency)));
+    }
+
+    @GetMapping("/subscriptions/export")
+    public ResponseEntity<StreamingResponseBody> exportAllSubscriptions(
+            @RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat = exportSubscriptionsUseCase.format(format);
+
+        StreamingResponseBody body = output -> exportSubscriptionsUseCase.exportAll(exportFormat, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"subscriptions-all." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.subscriptionmanager.presentation.controller;
+
+import com.example.subscriptionmanager.application.query.InvalidQueryException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps exceptions thrown for invalid query parameters to HTTP responses.
+ * Only InvalidQueryException becomes 400; other IllegalArgumentExceptions keep their default handling,
+ * so internal messages are not returned to clients.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(InvalidQueryException.class)
+    public ProblemDetail handleInvalidQuery(InvalidQueryException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+}
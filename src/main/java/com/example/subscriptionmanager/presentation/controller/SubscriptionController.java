@@ -2,40 +2,80 @@ package com.example.subscriptionmanager.presentation.controller;
 
 import com.example.subscriptionmanager.application.dto.CreateSubscriptionCommand;
 import com.example.subscriptionmanager.application.dto.MonthlyCostDto;
+import com.example.subscriptionmanager.application.dto.SpendingForecastDto;
 import com.example.subscriptionmanager.application.dto.SubscriptionDto;
+import com.example.subscriptionmanager.application.query.ExportFormat;
+import com.example.subscriptionmanager.application.query.SubscriptionFilter;
+import com.example.subscriptionmanager.application.query.SubscriptionPage;
 import com.example.subscriptionmanager.application.usecase.*;
 import com.example.subscriptionmanager.infrastructure.security.CurrentUser;
+import com.example.subscriptionmanager.presentation.mapper.SubscriptionCsvReader;
+import com.example.subscriptionmanager.presentation.mapper.SubscriptionJsonReader;
 import com.example.subscriptionmanager.presentation.mapper.SubscriptionMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
-import java.util.List;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Optional;
 
 /**
  * REST Controller for subscription management.
+ * Listings and the monthly cost carry ETags, so unchanged resources revalidate with a 304
+ * after a single aggregate query, unless ETags are disabled in configuration.
  */
 @RestController
 @RequestMapping("/api/subscriptions")
 public class SubscriptionController {
+    // Browsers keep the response but always revalidate it
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final AddSubscriptionUseCase addSubscriptionUseCase;
     private final CancelSubscriptionUseCase cancelSubscriptionUseCase;
     private final ListSubscriptionsUseCase listSubscriptionsUseCase;
     private final CalculateMonthlyCostUseCase calculateMonthlyCostUseCase;
+    private final ForecastSpendingUseCase forecastSpendingUseCase;
+    private final ImportSubscriptionsUseCase importSubscriptionsUseCase;
+    private final GetSubscriptionsETagUseCase getSubscriptionsETagUseCase;
+    private final ExportSubscriptionsUseCase exportSubscriptionsUseCase;
     private final SubscriptionMapper mapper;
+    private final ObjectMapper objectMapper;
 
     public SubscriptionController(
             AddSubscriptionUseCase addSubscriptionUseCase,
             CancelSubscriptionUseCase cancelSubscriptionUseCase,
             ListSubscriptionsUseCase listSubscriptionsUseCase,
             CalculateMonthlyCostUseCase calculateMonthlyCostUseCase,
-            SubscriptionMapper mapper) {
+            ForecastSpendingUseCase forecastSpendingUseCase,
+            ImportSubscriptionsUseCase importSubscriptionsUseCase,
+            GetSubscriptionsETagUseCase getSubscriptionsETagUseCase,
+            ExportSubscriptionsUseCase exportSubscriptionsUseCase,
+            SubscriptionMapper mapper,
+            ObjectMapper objectMapper) {
         this.addSubscriptionUseCase = addSubscriptionUseCase;
         this.cancelSubscriptionUseCase = cancelSubscriptionUseCase;
         this.listSubscriptionsUseCase = listSubscriptionsUseCase;
         this.calculateMonthlyCostUseCase = calculateMonthlyCostUseCase;
+        this.forecastSpendingUseCase = forecastSpendingUseCase;
+        this.importSubscriptionsUseCase = importSubscriptionsUseCase;
+        this.getSubscriptionsETagUseCase = getSubscriptionsETagUseCase;
+        this.exportSubscriptionsUseCase = exportSubscriptionsUseCase;
         this.mapper = mapper;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -48,30 +88,128 @@ public class SubscriptionController {
                 .body(mapper.toResponse(dto));
     }
 
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<SubscriptionMapper.ImportResultResponse> importSubscriptionsCsv(
+            HttpServletRequest request) throws IOException {
+        String userId = CurrentUser.getUserId();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            return ResponseEntity.ok(mapper.toResponse(
+                    importSubscriptionsUseCase.execute(userId, new SubscriptionCsvReader(reader))));
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<SubscriptionMapper.ImportResultResponse> importSubscriptionsJson(
+            HttpServletRequest request) throws IOException {
+        String userId = CurrentUser.getUserId();
+        try (InputStream input = request.getInputStream()) {
+            return ResponseEntity.ok(mapper.toResponse(
+                    importSubscriptionsUseCase.execute(userId, new SubscriptionJsonReader(objectMapper, input))));
+        }
+    }
+
     @GetMapping
-    public ResponseEntity<List<SubscriptionMapper.SubscriptionResponse>> listSubscriptions() {
+    public ResponseEntity<SubscriptionPage> listSubscriptions(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String billingCycle,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate paymentFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate paymentTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
         String userId = CurrentUser.getUserId();
-        List<SubscriptionDto> dtos = listSubscriptionsUseCase.execute(userId);
-        return ResponseEntity.ok(mapper.toResponseList(dtos));
+        // Taken before reading, so a concurrent write can only make it older than the body
+        Optional<String> eTag = getSubscriptionsETagUseCase.forListing(userId);
+        if (eTag.isPresent() && webRequest.checkNotModified(eTag.get())) {
+            return notModified(eTag.get());
+        }
+
+        SubscriptionFilter filter = new SubscriptionFilter(status, billingCycle, currency, paymentFrom, paymentTo);
+        return revalidated(eTag)
+                .body(listSubscriptionsUseCase.execute(userId, filter, cursor, limit));
     }
 
     @GetMapping("/active")
-    public ResponseEntity<List<SubscriptionMapper.SubscriptionResponse>> listActiveSubscriptions() {
+    public ResponseEntity<SubscriptionPage> listActiveSubscriptions(
+            @RequestParam(required = false) String billingCycle,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate paymentFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate paymentTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
         String userId = CurrentUser.getUserId();
-        List<SubscriptionDto> dtos = listSubscriptionsUseCase.executeActive(userId);
-        return ResponseEntity.ok(mapper.toResponseList(dtos));
+        Optional<String> eTag = getSubscriptionsETagUseCase.forListing(userId);
+        if (eTag.isPresent() && webRequest.checkNotModified(eTag.get())) {
+            return notModified(eTag.get());
+        }
+
+        SubscriptionFilter filter = new SubscriptionFilter(null, billingCycle, currency, paymentFrom, paymentTo);
+        return revalidated(eTag)
+                .body(listSubscriptionsUseCase.executeActive(userId, filter, cursor, limit));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSubscriptions(
+            @RequestParam(defaultValue = "csv") String format) {
+        // Resolved here, the body is written on another thread without the security context
+        String userId = CurrentUser.getUserId();
+        ExportFormat exportFormat = exportSubscriptionsUseCase.format(format);
+
+        StreamingResponseBody body = output -> exportSubscriptionsUseCase.exportForUser(userId, exportFormat, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"subscriptions." + exportFormat.getExtension() + "\"")
+                .body(body);
     }
 
     @DeleteMapping("/{subscriptionId}")
     public ResponseEntity<Void> cancelSubscription(@PathVariable String subscriptionId) {
-        cancelSubscriptionUseCase.execute(subscriptionId);
-        return ResponseEntity.noContent().build();
+        String userId = CurrentUser.getUserId();
+        return switch (cancelSubscriptionUseCase.execute(userId, subscriptionId)) {
+            case CANCELLED -> ResponseEntity.noContent().build();
+            case NOT_FOUND -> ResponseEntity.notFound().build();
+            case ALREADY_CANCELLED -> ResponseEntity.status(HttpStatus.CONFLICT).build();
+        };
     }
 
     @GetMapping("/cost/monthly")
-    public ResponseEntity<SubscriptionMapper.MonthlyCostResponse> calculateMonthlyCost() {
+    public ResponseEntity<SubscriptionMapper.MonthlyCostResponse> calculateMonthlyCost(
+            @RequestParam(required = false) String currency,
+            WebRequest webRequest) {
         String userId = CurrentUser.getUserId();
-        MonthlyCostDto dto = calculateMonthlyCostUseCase.execute(userId);
+        Optional<String> eTag = getSubscriptionsETagUseCase.forMonthlyCost(userId);
+        if (eTag.isPresent() && webRequest.checkNotModified(eTag.get())) {
+            return notModified(eTag.get());
+        }
+
+        MonthlyCostDto dto = calculateMonthlyCostUseCase.execute(userId, currency);
+        return revalidated(eTag)
+                .body(mapper.toResponse(dto));
+    }
+
+    @GetMapping("/forecast")
+    public ResponseEntity<SubscriptionMapper.SpendingForecastResponse> forecastSpending(
+            @RequestParam(defaultValue = "12") int months,
+            @RequestParam(required = false) String currency) {
+        String userId = CurrentUser.getUserId();
+        SpendingForecastDto dto = forecastSpendingUseCase.execute(userId, months, currency);
         return ResponseEntity.ok(mapper.toResponse(dto));
     }
+
+    private static ResponseEntity.BodyBuilder revalidated(Optional<String> eTag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(REVALIDATE);
+        eTag.ifPresent(builder::eTag);
+        return builder;
+    }
+
+    private static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .cacheControl(REVALIDATE)
+                .build();
+    }
 }
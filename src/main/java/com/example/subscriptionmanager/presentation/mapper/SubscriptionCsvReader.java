@@ -0,0 +1,106 @@
+package com.example.subscriptionmanager.presentation.mapper;
+
+import com.example.subscriptionmanager.application.dto.SubscriptionImportRow;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads import rows from CSV one line at a time, so the upload is never held in memory.
+ * Expects the header name,price,currency,billingCycle,nextPaymentDate,autoRenewal.
+ * Fields may be quoted, but may not span lines.
+ */
+public class SubscriptionCsvReader implements Iterator<SubscriptionImportRow> {
+    private static final String HEADER = "name,price,currency,billingCycle,nextPaymentDate,autoRenewal";
+    private static final int COLUMNS = 6;
+
+    private final BufferedReader reader;
+    private String nextLine;
+
+    public SubscriptionCsvReader(BufferedReader reader) {
+        this.reader = reader;
+        String header = readLine();
+        if (header == null || !header.strip().replace("\uFEFF", "").equalsIgnoreCase(HEADER)) {
+            throw new IllegalArgumentException("CSV header must be: " + HEADER);
+        }
+        this.nextLine = readNonBlankLine();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextLine != null;
+    }
+
+    /**
+     * Returns the next row, or throws IllegalArgumentException if the line cannot be read as one.
+     */
+    @Override
+    public SubscriptionImportRow next() {
+        if (nextLine == null) {
+            throw new NoSuchElementException();
+        }
+        String line = nextLine;
+        nextLine = readNonBlankLine();
+
+        List<String> fields = split(line);
+        if (fields.size() != COLUMNS) {
+            throw new IllegalArgumentException("Expected " + COLUMNS + " columns but got " + fields.size());
+        }
+        return new SubscriptionImportRow(
+                fields.get(0), fields.get(1), fields.get(2), fields.get(3), fields.get(4), fields.get(5));
+    }
+
+    private String readNonBlankLine() {
+        String line = readLine();
+        while (line != null && line.isBlank()) {
+            line = readLine();
+        }
+        return line;
+    }
+
+    private String readLine() {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<String> split(String line) {
+        List<String> fields = new ArrayList<>(COLUMNS);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
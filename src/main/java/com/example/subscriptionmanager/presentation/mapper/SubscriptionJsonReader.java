@@ -0,0 +1,69 @@
+package com.example.subscriptionmanager.presentation.mapper;
+
+import com.example.subscriptionmanager.application.dto.SubscriptionImportRow;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads import rows from a JSON array one element at a time, so the upload is never held in memory.
+ * An element that does not bind to a row is reported against that row only. Malformed JSON cannot
+ * be read past, so it is reported against the row where it starts and ends the import.
+ */
+public class SubscriptionJsonReader implements Iterator<SubscriptionImportRow> {
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private JsonToken current;
+
+    public SubscriptionJsonReader(ObjectMapper objectMapper, InputStream input) {
+        this.objectMapper = objectMapper;
+        try {
+            this.parser = objectMapper.createParser(input);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of subscriptions");
+            }
+            this.current = parser.nextToken();
+        } catch (JacksonException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return current != null && current != JsonToken.END_ARRAY;
+    }
+
+    /**
+     * Returns the next row, or throws IllegalArgumentException if the element cannot be read as one.
+     */
+    @Override
+    public SubscriptionImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        JsonNode element;
+        try {
+            element = objectMapper.readTree(parser);
+            current = parser.nextToken();
+        } catch (JacksonException e) {
+            current = null;
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+
+        if (!element.isObject()) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        try {
+            return objectMapper.treeToValue(element, SubscriptionImportRow.class);
+        } catch (JacksonException e) {
+            throw new IllegalArgumentException(e.getOriginalMessage());
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.subscriptionmanager.presentation.mapper;
 
 import com.example.subscriptionmanager.application.dto.CreateSubscriptionCommand;
+import com.example.subscriptionmanager.application.dto.ImportResultDto;
 import com.example.subscriptionmanager.application.dto.MonthlyCostDto;
+import com.example.subscriptionmanager.application.dto.SpendReportDto;
+import com.example.subscriptionmanager.application.dto.SpendingForecastDto;
 import com.example.subscriptionmanager.application.dto.SubscriptionDto;
 import org.springframework.stereotype.Component;
 
@@ -39,14 +42,34 @@ public class SubscriptionMapper {
         );
     }
 
-    public List<SubscriptionResponse> toResponseList(List<SubscriptionDto> dtos) {
-        return dtos.stream()
-                .map(this::toResponse)
+    public MonthlyCostResponse toResponse(MonthlyCostDto dto) {
+        return new MonthlyCostResponse(dto.amount(), dto.currency(), dto.ratesAgeSeconds());
+    }
+
+    public SpendingForecastResponse toResponse(SpendingForecastDto dto) {
+        List<MonthlySpendingResponse> months = dto.months().stream()
+                .map(month -> new MonthlySpendingResponse(month.month(), month.amount()))
                 .toList();
+        return new SpendingForecastResponse(dto.currency(), months, dto.ratesAgeSeconds());
     }
 
-    public MonthlyCostResponse toResponse(MonthlyCostDto dto) {
-        return new MonthlyCostResponse(dto.amount(), dto.currency());
+    public ImportResultResponse toResponse(ImportResultDto dto) {
+        List<ImportRowErrorResponse> errors = dto.errors().stream()
+                .map(error -> new ImportRowErrorResponse(error.row(), error.message()))
+                .toList();
+        return new ImportResultResponse(dto.imported(), dto.failed(), errors);
+    }
+
+    public SpendReportResponse toResponse(SpendReportDto dto) {
+        List<SpendGroupResponse> groups = dto.groups().stream()
+                .map(group -> new SpendGroupResponse(
+                        group.priceCurrency(),
+                        group.billingCycle(),
+                        group.subscriptionCount(),
+                        group.totalPrice(),
+                        group.monthlyCost()))
+                .toList();
+        return new SpendReportResponse(dto.monthlyTotal(), dto.currency(), groups, dto.ratesAgeSeconds());
     }
 
     // Request/Response DTOs for REST API
@@ -75,7 +98,51 @@ public class SubscriptionMapper {
 
     public record MonthlyCostResponse(
             Double amount,
-            String currency
+            String currency,
+            Long ratesAgeSeconds
+    ) {
+    }
+
+    public record SpendingForecastResponse(
+            String currency,
+            List<MonthlySpendingResponse> months,
+            Long ratesAgeSeconds
+    ) {
+    }
+
+    public record MonthlySpendingResponse(
+            String month,
+            Double amount
+    ) {
+    }
+
+    public record SpendReportResponse(
+            Double monthlyTotal,
+            String currency,
+            List<SpendGroupResponse> groups,
+            Long ratesAgeSeconds
+    ) {
+    }
+
+    public record SpendGroupResponse(
+            String priceCurrency,
+            String billingCycle,
+            Long subscriptionCount,
+            Double totalPrice,
+            Double monthlyCost
+    ) {
+    }
+
+    public record ImportResultResponse(
+            long imported,
+            long failed,
+            List<ImportRowErrorResponse> errors
+    ) {
+    }
+
+    public record ImportRowErrorResponse(
+            long row,
+            String message
     ) {
     }
 }
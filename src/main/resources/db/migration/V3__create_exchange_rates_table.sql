@@ -0,0 +1,9 @@
+CREATE TABLE exchange_rates (
+    currency VARCHAR(3) NOT NULL,
+    effective_date DATE NOT NULL,
+    rate_to_pln DECIMAL(19, 8) NOT NULL,
+    fetched_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (currency, effective_date)
+);
+
+CREATE INDEX idx_exchange_rates_effective_date ON exchange_rates(effective_date);
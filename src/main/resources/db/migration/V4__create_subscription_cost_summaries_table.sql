@@ -0,0 +1,15 @@
+CREATE TABLE subscription_cost_summaries (
+    user_id UUID NOT NULL,
+    price_currency VARCHAR(3) NOT NULL,
+    billing_cycle VARCHAR(20) NOT NULL,
+    total_amount DECIMAL(19, 2) NOT NULL,
+    subscription_count BIGINT NOT NULL,
+    PRIMARY KEY (user_id, price_currency, billing_cycle)
+);
+
+-- Backfill from active subscriptions that already exist
+INSERT INTO subscription_cost_summaries (user_id, price_currency, billing_cycle, total_amount, subscription_count)
+SELECT user_id, price_currency, billing_cycle, SUM(price_amount), COUNT(*)
+FROM subscriptions
+WHERE status = 'ACTIVE'
+GROUP BY user_id, price_currency, billing_cycle;
@@ -0,0 +1,3 @@
+-- Lets the renewal job find due auto-renewing subscriptions without scanning the table
+CREATE INDEX idx_subscriptions_renewal_due ON subscriptions(next_payment_date)
+    WHERE status = 'ACTIVE' AND auto_renewal = TRUE AND billing_cycle <> 'TRIAL';
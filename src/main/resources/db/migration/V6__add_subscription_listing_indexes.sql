@@ -0,0 +1,8 @@
+-- Keyset pagination walks (user_id, next_payment_date, id) in order, with or without a status filter.
+-- Billing cycle, currency and payment date range filters are applied within the same range scan.
+CREATE INDEX idx_subscriptions_user_id_payment ON subscriptions(user_id, next_payment_date, id);
+CREATE INDEX idx_subscriptions_user_id_status_payment ON subscriptions(user_id, status, next_payment_date, id);
+
+-- Both are prefixes of the indexes above
+DROP INDEX IF EXISTS idx_subscriptions_user_id;
+DROP INDEX IF EXISTS idx_subscriptions_user_id_status;
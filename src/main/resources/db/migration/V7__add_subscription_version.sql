@@ -0,0 +1,3 @@
+-- Bumped on every write, so a user's rows can be summarised into an ETag without reading them.
+-- A constant default is a catalog-only change, existing rows are not rewritten.
+ALTER TABLE subscriptions ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
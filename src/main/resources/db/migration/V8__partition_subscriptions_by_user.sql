@@ -0,0 +1,193 @@
+-- Hash-partitioned replacement for subscriptions, keyed by user_id.
+-- Every user-scoped query prunes to one of 32 partitions, so index depth and vacuum work are bounded
+-- by the partition size instead of the whole table.
+--
+-- Large tables are migrated online in three steps:
+--   1. this migration creates the partitioned table and a trigger that mirrors every write to it;
+--   2. CALL subscriptions_partitioned_backfill(); copies existing rows in committed batches;
+--   3. SELECT subscriptions_partitioned_swap(); renames the tables under a short exclusive lock.
+-- Tables of up to 100000 rows are copied and swapped right here.
+-- The old table is kept as subscriptions_unpartitioned for rollback and can be dropped afterwards.
+--
+-- The primary key becomes (user_id, id), so the table no longer enforces that id alone is unique.
+-- Ids are random UUIDs generated by the application, and every write path addresses a row by owner
+-- and id, but nothing in the database rejects the same id under two users any more.
+-- Hibernate still identifies an entity by id alone: its versioned UPDATE after a save probes the id
+-- index of every partition. Deletes and locking reads go through user_id and id and are pruned.
+
+CREATE TABLE subscriptions_partitioned (
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
+    user_id UUID NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    price_amount DECIMAL(19, 2) NOT NULL,
+    price_currency VARCHAR(3) NOT NULL,
+    billing_cycle VARCHAR(20) NOT NULL,
+    next_payment_date DATE NOT NULL,
+    auto_renewal BOOLEAN NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
+    -- A unique key on a partitioned table must include the partition key
+    CONSTRAINT subscriptions_partitioned_pkey PRIMARY KEY (user_id, id)
+) PARTITION BY HASH (user_id);
+
+DO $$
+BEGIN
+    FOR remainder IN 0..31 LOOP
+        EXECUTE format(
+                'CREATE TABLE subscriptions_p%s PARTITION OF subscriptions_partitioned '
+                    || 'FOR VALUES WITH (MODULUS 32, REMAINDER %s)',
+                lpad(remainder::text, 2, '0'), remainder);
+    END LOOP;
+END $$;
+
+-- Created on the parent, so every partition gets its own copy.
+-- Lookups by id alone (findById, existsById, JPA updates) probe the id index of each partition.
+-- The index is not unique: a unique index on a partitioned table would have to include user_id.
+CREATE INDEX idx_subscriptions_partitioned_id ON subscriptions_partitioned(id);
+CREATE INDEX idx_subscriptions_partitioned_status ON subscriptions_partitioned(status);
+CREATE INDEX idx_subscriptions_partitioned_user_id_payment
+    ON subscriptions_partitioned(user_id, next_payment_date, id);
+CREATE INDEX idx_subscriptions_partitioned_user_id_status_payment
+    ON subscriptions_partitioned(user_id, status, next_payment_date, id);
+CREATE INDEX idx_subscriptions_partitioned_renewal_due ON subscriptions_partitioned(next_payment_date)
+    WHERE status = 'ACTIVE' AND auto_renewal = TRUE AND billing_cycle <> 'TRIAL';
+
+-- Mirrors every write on the old table until the swap
+CREATE FUNCTION subscriptions_sync_partitioned() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'DELETE' OR (TG_OP = 'UPDATE' AND NEW.user_id <> OLD.user_id) THEN
+        DELETE FROM subscriptions_partitioned WHERE user_id = OLD.user_id AND id = OLD.id;
+    END IF;
+
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO subscriptions_partitioned (id, user_id, name, price_amount, price_currency, billing_cycle,
+                                               next_payment_date, auto_renewal, status, created_at, updated_at, version)
+        VALUES (NEW.id, NEW.user_id, NEW.name, NEW.price_amount, NEW.price_currency, NEW.billing_cycle,
+                NEW.next_payment_date, NEW.auto_renewal, NEW.status, NEW.created_at, NEW.updated_at, NEW.version)
+        ON CONFLICT (user_id, id) DO UPDATE SET
+            name = EXCLUDED.name,
+            price_amount = EXCLUDED.price_amount,
+            price_currency = EXCLUDED.price_currency,
+            billing_cycle = EXCLUDED.billing_cycle,
+            next_payment_date = EXCLUDED.next_payment_date,
+            auto_renewal = EXCLUDED.auto_renewal,
+            status = EXCLUDED.status,
+            created_at = EXCLUDED.created_at,
+            updated_at = EXCLUDED.updated_at,
+            version = EXCLUDED.version;
+    END IF;
+
+    RETURN NULL;
+END $$;
+
+CREATE TRIGGER subscriptions_sync_partitioned
+    AFTER INSERT OR UPDATE OR DELETE ON subscriptions
+    FOR EACH ROW EXECUTE FUNCTION subscriptions_sync_partitioned();
+
+-- Copies the next batch of rows after after_id, in id order.
+-- FOR SHARE makes a concurrent delete wait for the batch to commit, so the trigger then removes
+-- the copy instead of the batch resurrecting a row that was already gone.
+-- Rows the trigger already mirrored are left alone, they are at least as new.
+-- Returns the last id copied, or NULL when there is nothing left.
+CREATE FUNCTION subscriptions_partitioned_copy_batch(after_id UUID, batch_size INT) RETURNS UUID
+LANGUAGE plpgsql AS $$
+DECLARE
+    last_id UUID;
+BEGIN
+    WITH batch AS (
+        SELECT id, user_id, name, price_amount, price_currency, billing_cycle,
+               next_payment_date, auto_renewal, status, created_at, updated_at, version
+        FROM subscriptions
+        WHERE id > coalesce(after_id, '00000000-0000-0000-0000-000000000000'::uuid)
+        ORDER BY id
+        LIMIT batch_size
+        FOR SHARE
+    ), copied AS (
+        INSERT INTO subscriptions_partitioned (id, user_id, name, price_amount, price_currency, billing_cycle,
+                                               next_payment_date, auto_renewal, status, created_at, updated_at, version)
+        SELECT id, user_id, name, price_amount, price_currency, billing_cycle,
+               next_payment_date, auto_renewal, status, created_at, updated_at, version
+        FROM batch
+        ON CONFLICT (user_id, id) DO NOTHING
+    )
+    SELECT id INTO last_id FROM batch ORDER BY id DESC LIMIT 1;
+
+    RETURN last_id;
+END $$;
+
+-- Copies all existing rows, committing after every batch so locks and WAL stay small.
+-- Must be CALLed outside a transaction block. Progress is reported with NOTICEs, and an interrupted
+-- run can be resumed from the last reported id.
+CREATE PROCEDURE subscriptions_partitioned_backfill(batch_size INT DEFAULT 10000, start_after UUID DEFAULT NULL)
+LANGUAGE plpgsql AS $$
+DECLARE
+    last_id UUID := start_after;
+    copied_batches BIGINT := 0;
+BEGIN
+    LOOP
+        last_id := subscriptions_partitioned_copy_batch(last_id, batch_size);
+        EXIT WHEN last_id IS NULL;
+        COMMIT;
+
+        copied_batches := copied_batches + 1;
+        IF copied_batches % 100 = 0 THEN
+            RAISE NOTICE 'Copied % batches, last id %', copied_batches, last_id;
+        END IF;
+    END LOOP;
+END $$;
+
+-- Puts the partitioned table in place of the old one.
+-- With verify, refuses to swap while any row is missing; on very large tables verification
+-- holds the exclusive lock for a full scan, so it can be run separately beforehand and skipped here.
+CREATE FUNCTION subscriptions_partitioned_swap(verify BOOLEAN DEFAULT TRUE) RETURNS void
+LANGUAGE plpgsql AS $$
+DECLARE
+    missing BIGINT;
+BEGIN
+    LOCK TABLE subscriptions IN ACCESS EXCLUSIVE MODE;
+
+    IF verify THEN
+        SELECT count(*) INTO missing
+        FROM subscriptions s
+        WHERE NOT EXISTS (
+            SELECT 1 FROM subscriptions_partitioned p WHERE p.user_id = s.user_id AND p.id = s.id);
+        IF missing > 0 THEN
+            RAISE EXCEPTION '% subscriptions are not copied yet, run CALL subscriptions_partitioned_backfill() first',
+                missing;
+        END IF;
+    END IF;
+
+    DROP TRIGGER subscriptions_sync_partitioned ON subscriptions;
+    DROP FUNCTION subscriptions_sync_partitioned();
+    DROP PROCEDURE subscriptions_partitioned_backfill(INT, UUID);
+    DROP FUNCTION subscriptions_partitioned_copy_batch(UUID, INT);
+
+    ALTER TABLE subscriptions RENAME TO subscriptions_unpartitioned;
+    ALTER INDEX subscriptions_pkey RENAME TO subscriptions_unpartitioned_pkey;
+    ALTER INDEX idx_subscriptions_status RENAME TO idx_subscriptions_unpartitioned_status;
+    ALTER INDEX idx_subscriptions_user_id_payment RENAME TO idx_subscriptions_unpartitioned_user_id_payment;
+    ALTER INDEX idx_subscriptions_user_id_status_payment
+        RENAME TO idx_subscriptions_unpartitioned_user_id_status_payment;
+    ALTER INDEX idx_subscriptions_renewal_due RENAME TO idx_subscriptions_unpartitioned_renewal_due;
+
+    ALTER TABLE subscriptions_partitioned RENAME TO subscriptions;
+    ALTER INDEX subscriptions_partitioned_pkey RENAME TO subscriptions_pkey;
+    ALTER INDEX idx_subscriptions_partitioned_id RENAME TO idx_subscriptions_id;
+    ALTER INDEX idx_subscriptions_partitioned_status RENAME TO idx_subscriptions_status;
+    ALTER INDEX idx_subscriptions_partitioned_user_id_payment RENAME TO idx_subscriptions_user_id_payment;
+    ALTER INDEX idx_subscriptions_partitioned_user_id_status_payment
+        RENAME TO idx_subscriptions_user_id_status_payment;
+    ALTER INDEX idx_subscriptions_partitioned_renewal_due RENAME TO idx_subscriptions_renewal_due;
+END $$;
+
+-- Small tables (new installs, dev and test databases) are migrated right away
+DO $$
+BEGIN
+    IF (SELECT count(*) FROM (SELECT 1 FROM subscriptions LIMIT 100001) AS sample) <= 100000 THEN
+        PERFORM subscriptions_partitioned_copy_batch(NULL, 100000);
+        PERFORM subscriptions_partitioned_swap(TRUE);
+    END IF;
+END $$;
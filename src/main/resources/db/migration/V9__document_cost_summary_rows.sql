@@ -0,0 +1,9 @@
+-- Summary rows are kept when their count drops to zero rather than deleted.
+-- A user who cancels and later adds a subscription in the same currency and billing cycle updates
+-- the existing row in place, and removing a subscription stays a single upsert instead of an
+-- upsert followed by a delete. There is at most one row per user, currency and billing cycle,
+-- so the leftovers are bounded; every reader filters on subscription_count > 0.
+
+COMMENT ON TABLE subscription_cost_summaries IS
+    'Totals of active subscriptions per user, currency and billing cycle. '
+    'Rows with subscription_count = 0 are kept on purpose and must be filtered out by readers.';
@@ -3,6 +3,11 @@ const API_BASE = '/api';
 let authToken = localStorage.getItem('authToken');
 let currentUser = JSON.parse(localStorage.getItem('currentUser') || '{}');
 
+// Subscription list paging state
+let subscriptionsPath = '/subscriptions';
+let loadedSubscriptions = [];
+let nextSubscriptionsCursor = null;
+
 // Initialize app
 document.addEventListener('DOMContentLoaded', () => {
     if (authToken) {
@@ -171,31 +176,31 @@ async function handleAddSubscription(event) {
 }
 
 async function loadSubscriptions() {
-    const listDiv = document.getElementById('subscriptionsList');
-    listDiv.innerHTML = '<div class="loading">Ładowanie...</div>';
-    
-    try {
-        const response = await fetch(`${API_BASE}/subscriptions`, {
-            headers: {
-                'Authorization': `Bearer ${authToken}`
-            }
-        });
-        
-        if (!response.ok) throw new Error('Nie udało się załadować subskrypcji');
-        
-        const subscriptions = await response.json();
-        displaySubscriptions(subscriptions);
-    } catch (error) {
-        listDiv.innerHTML = `<div class="error-message show">Błąd: ${error.message}</div>`;
-    }
+    await loadSubscriptionPage('/subscriptions', false);
 }
 
 async function loadActiveSubscriptions() {
+    await loadSubscriptionPage('/subscriptions/active', false);
+}
+
+async function loadMoreSubscriptions() {
+    await loadSubscriptionPage(subscriptionsPath, true);
+}
+
+async function loadSubscriptionPage(path, append) {
     const listDiv = document.getElementById('subscriptionsList');
-    listDiv.innerHTML = '<div class="loading">Ładowanie...</div>';
+    if (!append) {
+        subscriptionsPath = path;
+        loadedSubscriptions = [];
+        nextSubscriptionsCursor = null;
+        listDiv.innerHTML = '<div class="loading">Ładowanie...</div>';
+    }
     
     try {
-        const response = await fetch(`${API_BASE}/subscriptions/active`, {
+        const query = append && nextSubscriptionsCursor
+            ? `?cursor=${encodeURIComponent(nextSubscriptionsCursor)}`
+            : '';
+        const response = await fetch(`${API_BASE}${path}${query}`, {
             headers: {
                 'Authorization': `Bearer ${authToken}`
             }
@@ -203,8 +208,10 @@ async function loadActiveSubscriptions() {
         
         if (!response.ok) throw new Error('Nie udało się załadować subskrypcji');
         
-        const subscriptions = await response.json();
-        displaySubscriptions(subscriptions);
+        const page = await response.json();
+        loadedSubscriptions = loadedSubscriptions.concat(page.items);
+        nextSubscriptionsCursor = page.nextCursor;
+        displaySubscriptions(loadedSubscriptions);
     } catch (error) {
         listDiv.innerHTML = `<div class="error-message show">Błąd: ${error.message}</div>`;
     }
@@ -233,7 +240,9 @@ function displaySubscriptions(subscriptions) {
                 ${sub.status === 'ACTIVE' ? `<button onclick="cancelSubscription('${sub.subscriptionId}')" class="btn btn-danger">Anuluj</button>` : ''}
             </div>
         </div>
-    `).join('');
+    `).join('') + (nextSubscriptionsCursor
+        ? '<button onclick="loadMoreSubscriptions()" class="btn btn-secondary">Załaduj więcej</button>'
+        : '');
 }
 
 async function cancelSubscription(subscriptionId) {
@@ -0,0 +1,21 @@
+package com.example.subscriptionmanager.application.query;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportFormatTest {
+
+    @Test
+    void shouldParseNamesCaseInsensitively() {
+        assertEquals(ExportFormat.CSV, ExportFormat.parse("csv"));
+        assertEquals(ExportFormat.NDJSON, ExportFormat.parse("NdJson"));
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() {
+        InvalidQueryException e = assertThrows(InvalidQueryException.class, () -> ExportFormat.parse("xlsx"));
+
+        assertEquals("Unknown export format: xlsx", e.getMessage());
+    }
+}
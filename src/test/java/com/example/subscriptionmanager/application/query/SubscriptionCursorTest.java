@@ -0,0 +1,60 @@
+package com.example.subscriptionmanager.application.query;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubscriptionCursorTest {
+
+    @Test
+    void shouldDecodeWhatItEncodes() {
+        SubscriptionCursor cursor = new SubscriptionCursor(LocalDate.of(2026, 3, 1), UUID.randomUUID());
+
+        assertEquals(cursor, SubscriptionCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void shouldEncodeToUrlSafeTokenWithoutPadding() {
+        String token = new SubscriptionCursor(LocalDate.of(2026, 3, 1), UUID.randomUUID()).encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+
+    @Test
+    void shouldRejectTokenThatIsNotBase64() {
+        assertThrows(InvalidQueryException.class, () -> SubscriptionCursor.decode("not a cursor!"));
+    }
+
+    @Test
+    void shouldRejectTokenWithoutSeparator() {
+        assertThrows(InvalidQueryException.class, () -> SubscriptionCursor.decode(token("2026-03-01")));
+    }
+
+    @Test
+    void shouldRejectTamperedDate() {
+        assertThrows(InvalidQueryException.class,
+                () -> SubscriptionCursor.decode(token("2026-13-01|" + UUID.randomUUID())));
+    }
+
+    @Test
+    void shouldRejectTamperedId() {
+        assertThrows(InvalidQueryException.class, () -> SubscriptionCursor.decode(token("2026-03-01|1234")));
+    }
+
+    @Test
+    void shouldRejectEmptyParts() {
+        InvalidQueryException e = assertThrows(InvalidQueryException.class,
+                () -> SubscriptionCursor.decode(token("|")));
+
+        assertTrue(e.getMessage().startsWith("Invalid cursor"));
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.subscriptionmanager.application.usecase;
+
+import com.example.subscriptionmanager.application.dto.SpendReportDto;
+import com.example.subscriptionmanager.domain.exchange.ExchangeRateProvider;
+import com.example.subscriptionmanager.domain.model.BillingCycle;
+import com.example.subscriptionmanager.domain.model.Money;
+import com.example.subscriptionmanager.domain.model.SubscriptionCostGroup;
+import com.example.subscriptionmanager.domain.repository.SubscriptionCostReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class GenerateSpendReportUseCaseTest {
+    private static final Currency PLN = Currency.getInstance("PLN");
+    private static final Currency EUR = Currency.getInstance("EUR");
+
+    // Units of the second currency per one unit of the first
+    private final Map<String, Double> rates = Map.of("EUR-PLN", 4.0, "PLN-EUR", 0.25);
+    private final ExchangeRateProvider exchangeRateProvider = (from, to) ->
+            Optional.ofNullable(rates.get(from.getCurrencyCode() + "-" + to.getCurrencyCode()));
+    private SubscriptionCostReportRepository reportRepository;
+    private GenerateSpendReportUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        reportRepository = mock(SubscriptionCostReportRepository.class);
+        when(reportRepository.sumActiveCostGroups()).thenReturn(List.of(
+                new SubscriptionCostGroup(new Money(new BigDecimal("100.00"), PLN), BillingCycle.MONTHLY, 2),
+                new SubscriptionCostGroup(new Money(new BigDecimal("120.00"), EUR), BillingCycle.YEARLY, 1),
+                new SubscriptionCostGroup(new Money(new BigDecimal("10.00"), EUR), BillingCycle.MONTHLY, 1)));
+        useCase = new GenerateSpendReportUseCase(reportRepository, exchangeRateProvider, PLN);
+    }
+
+    @Test
+    void shouldConvertEveryGroupToBaseCurrencyByDefault() {
+        SpendReportDto report = useCase.execute(null);
+
+        // 100 + 10 * 4 + 120 / 12 * 4
+        assertEquals(180.0, report.monthlyTotal());
+        assertEquals("PLN", report.currency());
+        assertEquals(List.of(
+                new SpendReportDto.SpendGroup("EUR", "MONTHLY", 1L, 10.0, 40.0),
+                new SpendReportDto.SpendGroup("EUR", "YEARLY", 1L, 120.0, 40.0),
+                new SpendReportDto.SpendGroup("PLN", "MONTHLY", 2L, 100.0, 100.0)
+        ), report.groups());
+        assertNull(report.ratesAgeSeconds());
+    }
+
+    @Test
+    void shouldConvertToRequestedCurrency() {
+        SpendReportDto report = useCase.execute("eur");
+
+        // 100 * 0.25 + 10 + 120 / 12
+        assertEquals(45.0, report.monthlyTotal());
+        assertEquals("EUR", report.currency());
+        assertEquals(25.0, report.groups().get(2).monthlyCost());
+        // Group totals stay in their own currency
+        assertEquals(100.0, report.groups().get(2).totalPrice());
+    }
+
+    @Test
+    void shouldFailWhenGroupCannotBeConverted() {
+        assertThrows(IllegalStateException.class, () -> useCase.execute("USD"));
+    }
+
+    @Test
+    void shouldReportZeroWithoutActiveSubscriptions() {
+        when(reportRepository.sumActiveCostGroups()).thenReturn(List.of());
+
+        SpendReportDto report = useCase.execute(null);
+
+        assertEquals(0.0, report.monthlyTotal());
+        assertTrue(report.groups().isEmpty());
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.subscriptionmanager.application.usecase;
+
+import com.example.subscriptionmanager.application.dto.ImportResultDto;
+import com.example.subscriptionmanager.application.dto.SubscriptionImportRow;
+import com.example.subscriptionmanager.domain.model.Subscription;
+import com.example.subscriptionmanager.domain.repository.SubscriptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ImportSubscriptionsUseCaseTest {
+    private static final String USER_ID = UUID.randomUUID().toString();
+    private static final String NEXT_MONTH = LocalDate.now().plusMonths(1).toString();
+
+    private SubscriptionRepository subscriptionRepository;
+    private ImportSubscriptionsUseCase useCase;
+    // Chunks are reused after insertAll returns, so their contents are copied here
+    private final List<List<Subscription>> insertedChunks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        subscriptionRepository = mock(SubscriptionRepository.class);
+        doAnswer(invocation -> {
+            List<Subscription> chunk = invocation.getArgument(0);
+            insertedChunks.add(List.copyOf(chunk));
+            return null;
+        }).when(subscriptionRepository).insertAll(anyList());
+        useCase = new ImportSubscriptionsUseCase(subscriptionRepository);
+    }
+
+    @Test
+    void shouldImportValidRowsAndReportInvalidOnes() {
+        ImportResultDto result = useCase.execute(USER_ID, List.of(
+                row("Netflix", "29.99"),
+                row("Spotify", "-1"),
+                new SubscriptionImportRow("HBO", "39.99", "XYZ", "MONTHLY", NEXT_MONTH, "true"),
+                new SubscriptionImportRow("Max", "39.99", "PLN", "WEEKLY", NEXT_MONTH, "true"),
+                new SubscriptionImportRow("Disney+", "39.99", "PLN", "MONTHLY", "15.01.2030", "true"),
+                new SubscriptionImportRow("Prime", null, "PLN", "MONTHLY", NEXT_MONTH, "true"),
+                row("YouTube", "23.99")
+        ).iterator());
+
+        assertEquals(2, result.imported());
+        assertEquals(5, result.failed());
+        assertEquals(List.of(2L, 3L, 4L, 5L, 6L), result.errors().stream().map(ImportResultDto.RowError::row).toList());
+        assertEquals("price is required", result.errors().get(4).message());
+        assertEquals(List.of("Netflix", "YouTube"),
+                insertedChunks.get(0).stream().map(Subscription::getName).toList());
+    }
+
+    @Test
+    void shouldReportRowsThatDoNotFitColumnsInsteadOfInsertingThem() {
+        ImportResultDto result = useCase.execute(USER_ID, List.of(
+                row("x".repeat(256), "9.99"),
+                row("y".repeat(255), "9.99"),
+                row("Netflix", "123456789012345678.00"),
+                row("Spotify", "12345678901234567.99")
+        ).iterator());
+
+        assertEquals(2, result.imported());
+        assertEquals(List.of(1L, 3L), result.errors().stream().map(ImportResultDto.RowError::row).toList());
+    }
+
+    @Test
+    void shouldReportMissingNameAndUnknownAutoRenewal() {
+        ImportResultDto result = useCase.execute(USER_ID, List.of(
+                new SubscriptionImportRow(null, "9.99", "PLN", "MONTHLY", NEXT_MONTH, "true"),
+                new SubscriptionImportRow("Netflix", "9.99", "PLN", "MONTHLY", NEXT_MONTH, "yes"),
+                new SubscriptionImportRow("Spotify", "9.99", "PLN", "MONTHLY", NEXT_MONTH, " FALSE "),
+                new SubscriptionImportRow("HBO", "9.99", "PLN", "MONTHLY", NEXT_MONTH, "")
+        ).iterator());
+
+        assertEquals(2, result.imported());
+        assertEquals(List.of(
+                new ImportResultDto.RowError(1, "name is required"),
+                new ImportResultDto.RowError(2, "autoRenewal must be true or false: yes")), result.errors());
+        assertFalse(insertedChunks.get(0).get(0).isAutoRenewal());
+        assertTrue(insertedChunks.get(0).get(1).isAutoRenewal());
+    }
+
+    @Test
+    void shouldReportRowsTheReaderCannotParse() {
+        Iterator<SubscriptionImportRow> rows = new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < 3;
+            }
+
+            @Override
+            public SubscriptionImportRow next() {
+                next++;
+                if (next == 2) {
+                    throw new IllegalArgumentException("Expected 6 columns but got 3");
+                }
+                return row("Row " + next, "9.99");
+            }
+        };
+
+        ImportResultDto result = useCase.execute(USER_ID, rows);
+
+        assertEquals(2, result.imported());
+        assertEquals(new ImportResultDto.RowError(2, "Expected 6 columns but got 3"), result.errors().get(0));
+    }
+
+    @Test
+    void shouldInsertInChunks() {
+        List<SubscriptionImportRow> rows = new ArrayList<>();
+        for (int i = 0; i < ImportSubscriptionsUseCase.CHUNK_SIZE + 1; i++) {
+            rows.add(row("Subscription " + i, "9.99"));
+        }
+
+        ImportResultDto result = useCase.execute(USER_ID, rows.iterator());
+
+        assertEquals(ImportSubscriptionsUseCase.CHUNK_SIZE + 1, result.imported());
+        assertEquals(List.of(ImportSubscriptionsUseCase.CHUNK_SIZE, 1),
+                insertedChunks.stream().map(List::size).toList());
+    }
+
+    private static SubscriptionImportRow row(String name, String price) {
+        return new SubscriptionImportRow(name, price, "PLN", "MONTHLY", NEXT_MONTH, "true");
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.subscriptionmanager.application.usecase;
+
+import com.example.subscriptionmanager.application.query.InvalidQueryException;
+import com.example.subscriptionmanager.application.query.SubscriptionCursor;
+import com.example.subscriptionmanager.application.query.SubscriptionFilter;
+import com.example.subscriptionmanager.application.query.SubscriptionPage;
+import com.example.subscriptionmanager.application.query.SubscriptionQueryRepository;
+import com.example.subscriptionmanager.application.query.SubscriptionView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ListSubscriptionsUseCaseTest {
+    private static final String USER_ID = UUID.randomUUID().toString();
+
+    private SubscriptionQueryRepository queryRepository;
+    private ListSubscriptionsUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        queryRepository = mock(SubscriptionQueryRepository.class);
+        useCase = new ListSubscriptionsUseCase(queryRepository);
+    }
+
+    @Test
+    void shouldNormalizeFilterValues() {
+        useCase.execute(USER_ID, new SubscriptionFilter("active", "monthly", "pln", null, null), null, null);
+
+        ArgumentCaptor<SubscriptionFilter> filter = ArgumentCaptor.forClass(SubscriptionFilter.class);
+        verify(queryRepository).findPage(any(), filter.capture(), isNull(), anyInt());
+        assertEquals(new SubscriptionFilter("ACTIVE", "MONTHLY", "PLN", null, null), filter.getValue());
+    }
+
+    @Test
+    void shouldRejectUnknownFilterValues() {
+        assertThrows(InvalidQueryException.class, () -> useCase.execute(
+                USER_ID, new SubscriptionFilter("paused", null, null, null, null), null, null));
+        assertThrows(InvalidQueryException.class, () -> useCase.execute(
+                USER_ID, new SubscriptionFilter(null, "weekly", null, null, null), null, null));
+        assertThrows(InvalidQueryException.class, () -> useCase.execute(
+                USER_ID, new SubscriptionFilter(null, null, "XYZ", null, null), null, null));
+        verifyNoInteractions(queryRepository);
+    }
+
+    @Test
+    void shouldRejectEmptyPaymentDateRange() {
+        LocalDate today = LocalDate.now();
+
+        assertThrows(InvalidQueryException.class, () -> useCase.execute(
+                USER_ID, new SubscriptionFilter(null, null, null, today, today.minusDays(1)), null, null));
+    }
+
+    @Test
+    void shouldAcceptPageSizesFromOneToMaximum() {
+        useCase.execute(USER_ID, SubscriptionFilter.none(), null, 1);
+        useCase.execute(USER_ID, SubscriptionFilter.none(), null, ListSubscriptionsUseCase.MAX_PAGE_SIZE);
+        useCase.execute(USER_ID, SubscriptionFilter.none(), null, null);
+
+        // One extra row tells whether another page follows
+        verify(queryRepository).findPage(any(), any(), isNull(), eq(2));
+        verify(queryRepository).findPage(any(), any(), isNull(), eq(ListSubscriptionsUseCase.MAX_PAGE_SIZE + 1));
+        verify(queryRepository).findPage(any(), any(), isNull(), eq(ListSubscriptionsUseCase.DEFAULT_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void shouldRejectPageSizesOutsideRange() {
+        assertThrows(InvalidQueryException.class,
+                () -> useCase.execute(USER_ID, SubscriptionFilter.none(), null, 0));
+        assertThrows(InvalidQueryException.class,
+                () -> useCase.execute(USER_ID, SubscriptionFilter.none(), null, ListSubscriptionsUseCase.MAX_PAGE_SIZE + 1));
+        verifyNoInteractions(queryRepository);
+    }
+
+    @Test
+    void shouldReturnCursorOfLastItemOnlyWhenMoreRowsFollow() {
+        List<SubscriptionView> rows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            rows.add(view(LocalDate.of(2026, 3, 1)));
+        }
+        when(queryRepository.findPage(any(), any(), any(), eq(3))).thenReturn(rows);
+        when(queryRepository.findPage(any(), any(), any(), eq(4))).thenReturn(rows);
+
+        SubscriptionPage full = useCase.execute(USER_ID, SubscriptionFilter.none(), null, 2);
+        SubscriptionPage last = useCase.execute(USER_ID, SubscriptionFilter.none(), null, 3);
+
+        assertEquals(2, full.items().size());
+        assertEquals(SubscriptionCursor.after(rows.get(1)), SubscriptionCursor.decode(full.nextCursor()));
+        assertEquals(3, last.items().size());
+        assertNull(last.nextCursor());
+    }
+
+    private static SubscriptionView view(LocalDate nextPaymentDate) {
+        return new SubscriptionView(UUID.randomUUID(), UUID.fromString(USER_ID), "Netflix",
+                new BigDecimal("29.99"), "PLN", "MONTHLY", nextPaymentDate, true, "ACTIVE");
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.subscriptionmanager.domain;
+
+import com.example.subscriptionmanager.domain.model.BillingCycle;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BillingCycleTest {
+
+    @Test
+    void shouldAdvanceMonthlyPaymentDateToFirstDateNotBeforeToday() {
+        LocalDate advanced = BillingCycle.MONTHLY.advancePaymentDate(
+                LocalDate.of(2026, 1, 15), LocalDate.of(2026, 3, 20));
+
+        assertEquals(LocalDate.of(2026, 4, 15), advanced);
+    }
+
+    @Test
+    void shouldKeepMonthEndWhenAdvancingSeveralCycles() {
+        LocalDate advanced = BillingCycle.MONTHLY.advancePaymentDate(
+                LocalDate.of(2026, 1, 31), LocalDate.of(2026, 3, 2));
+
+        assertEquals(LocalDate.of(2026, 3, 31), advanced);
+    }
+
+    @Test
+    void shouldAdvanceYearlyPaymentDateByWholeYears() {
+        LocalDate advanced = BillingCycle.YEARLY.advancePaymentDate(
+                LocalDate.of(2024, 2, 29), LocalDate.of(2026, 1, 1));
+
+        assertEquals(LocalDate.of(2026, 2, 28), advanced);
+    }
+
+    @Test
+    void shouldNotAdvanceDueTodayOrTrial() {
+        LocalDate today = LocalDate.of(2026, 5, 10);
+
+        assertEquals(today, BillingCycle.MONTHLY.advancePaymentDate(today, today));
+        assertEquals(LocalDate.of(2026, 1, 1), BillingCycle.TRIAL.advancePaymentDate(LocalDate.of(2026, 1, 1), today));
+    }
+}
@@ -24,6 +24,7 @@ class BillingServiceTest {
     @BeforeEach
     void setUp() {
         exchangeRateProvider = mock(ExchangeRateProvider.class);
+        when(exchangeRateProvider.sumConverted(anyCollection(), any(Currency.class))).thenCallRealMethod();
         baseCurrency = Currency.getInstance("PLN");
         billingService = new BillingService(exchangeRateProvider, baseCurrency);
     }
@@ -165,6 +166,24 @@ class BillingServiceTest {
         });
     }
 
+    @Test
+    void shouldCalculateMonthlyCostFromCostGroups() {
+        Currency pln = Currency.getInstance("PLN");
+        List<SubscriptionCostGroup> costGroups = List.of(
+                new SubscriptionCostGroup(new Money(BigDecimal.valueOf(59.98), pln), BillingCycle.MONTHLY, 2),
+                new SubscriptionCostGroup(new Money(BigDecimal.valueOf(600), pln), BillingCycle.YEARLY, 1),
+                new SubscriptionCostGroup(new Money(BigDecimal.valueOf(10), pln), BillingCycle.TRIAL, 1)
+        );
+
+        when(exchangeRateProvider.convert(any(Money.class), eq(baseCurrency)))
+                .thenAnswer(invocation -> Optional.of(invocation.getArgument(0)));
+
+        Money result = billingService.calculateMonthlyCostFromGroups(costGroups, baseCurrency);
+
+        assertEquals(BigDecimal.valueOf(109.98), result.getAmount());
+        assertEquals("PLN", result.getCurrencyCode());
+    }
+
     private Subscription createSubscription(String name, Money price, BillingCycle billingCycle) {
         return Subscription.create(
                 SubscriptionId.newId(),
@@ -0,0 +1,141 @@
+package com.example.subscriptionmanager.domain;
+
+import com.example.subscriptionmanager.domain.exchange.ExchangeRateProvider;
+import com.example.subscriptionmanager.domain.model.*;
+import com.example.subscriptionmanager.domain.service.BillingService;
+import com.example.subscriptionmanager.domain.service.MonthlyCostAccumulator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonthlyCostAccumulatorTest {
+
+    private static final Currency PLN = Currency.getInstance("PLN");
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final Currency USD = Currency.getInstance("USD");
+
+    // Fixed rates so results are deterministic
+    private final ExchangeRateProvider exchangeRateProvider = new ExchangeRateProvider() {
+        private final Map<Currency, Double> toPln = Map.of(PLN, 1.0, EUR, 4.2531, USD, 3.9876);
+
+        @Override
+        public Optional<Double> getExchangeRate(Currency fromCurrency, Currency toCurrency) {
+            return Optional.of(toPln.get(fromCurrency) / toPln.get(toCurrency));
+        }
+    };
+
+    @Test
+    void shouldRoundMonthlyMinorUnitsHalfUp() {
+        assertEquals(5000, BillingCycle.YEARLY.calculateMonthlyMinorUnits(60000));
+        assertEquals(3, BillingCycle.YEARLY.calculateMonthlyMinorUnits(30));
+        assertEquals(2, BillingCycle.YEARLY.calculateMonthlyMinorUnits(29));
+        assertEquals(1999, BillingCycle.MONTHLY.calculateMonthlyMinorUnits(1999));
+        assertEquals(0, BillingCycle.TRIAL.calculateMonthlyMinorUnits(1999));
+    }
+
+    @Test
+    void shouldMatchBigDecimalPathForEveryYearlyPriceUpToThousand() {
+        for (long price = 0; price <= 100_000; price++) {
+            long exact = BigDecimal.valueOf(price, 2)
+                    .divide(BigDecimal.valueOf(12), 2, RoundingMode.HALF_UP)
+                    .movePointRight(2)
+                    .longValueExact();
+            assertEquals(exact, BillingCycle.YEARLY.calculateMonthlyMinorUnits(price), "price " + price);
+
+            // The old double path rounds exact half-cent ties like 0.30 / 12 down;
+            // every other price must come out identical
+            if (price % 12 != 6) {
+                assertEquals(legacyMonthlyCost(Money.ofMinorUnits(price, PLN), BillingCycle.YEARLY),
+                        BigDecimal.valueOf(exact, 2), "price " + price);
+            }
+        }
+    }
+
+    @Test
+    void shouldAccumulatePerCurrencyInMinorUnits() {
+        MonthlyCostAccumulator accumulator = new MonthlyCostAccumulator();
+
+        accumulator.add(PLN, 2999, BillingCycle.MONTHLY);
+        accumulator.add(EUR, 12000, BillingCycle.YEARLY);
+        accumulator.add(PLN, 60000, BillingCycle.YEARLY);
+        accumulator.add(USD, 999, BillingCycle.TRIAL);
+
+        assertEquals(7999, accumulator.getMinorUnits(PLN));
+        assertEquals(1000, accumulator.getMinorUnits(EUR));
+        assertEquals(0, accumulator.getMinorUnits(USD));
+
+        accumulator.reset();
+        assertEquals(0, accumulator.getMinorUnits(PLN));
+    }
+
+    @Test
+    void shouldMatchBigDecimalBillingForRandomPortfolios() {
+        BillingService billingService = new BillingService(exchangeRateProvider, PLN);
+        Random random = new Random(42);
+        Currency[] currencies = {PLN, EUR, USD};
+        BillingCycle[] cycles = BillingCycle.values();
+
+        for (int portfolio = 0; portfolio < 500; portfolio++) {
+            List<Subscription> subscriptions = new ArrayList<>();
+            for (int i = 0, count = random.nextInt(40); i < count; i++) {
+                BillingCycle cycle = cycles[random.nextInt(cycles.length)];
+                long price = random.nextInt(500_000);
+                if (cycle.getMonths() > 1 && price % cycle.getMonths() * 2 == cycle.getMonths()) {
+                    // Skip half-cent ties, where the old double path drifts
+                    price++;
+                }
+                subscriptions.add(createSubscription(
+                        Money.ofMinorUnits(price, currencies[random.nextInt(currencies.length)]),
+                        cycle,
+                        random.nextInt(5) > 0));
+            }
+
+            Currency target = currencies[random.nextInt(currencies.length)];
+            assertEquals(legacyTotal(subscriptions, target),
+                    billingService.calculateMonthlyCost(subscriptions, target).getAmount(),
+                    "portfolio " + portfolio);
+        }
+    }
+
+    // Previous implementation: per-subscription monthly cost in double, grouped and converted with BigDecimal
+    private BigDecimal legacyTotal(List<Subscription> subscriptions, Currency target) {
+        List<Money> monthlyCosts = new ArrayList<>();
+        for (Subscription subscription : subscriptions) {
+            if (subscription.isActive()) {
+                monthlyCosts.add(new Money(
+                        legacyMonthlyCost(subscription.getPrice(), subscription.getBillingCycle()),
+                        subscription.getPrice().getCurrency()));
+            }
+        }
+        return exchangeRateProvider.sumConverted(monthlyCosts, target).orElseThrow()
+                .getAmount()
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private BigDecimal legacyMonthlyCost(Money price, BillingCycle billingCycle) {
+        return BigDecimal.valueOf(billingCycle.calculateMonthlyCost(price.getAmount().doubleValue()))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private Subscription createSubscription(Money price, BillingCycle billingCycle, boolean active) {
+        return Subscription.create(
+                SubscriptionId.newId(),
+                UserId.newId(),
+                "Service",
+                price,
+                billingCycle,
+                LocalDate.now().plusMonths(1),
+                active
+        );
+    }
+}
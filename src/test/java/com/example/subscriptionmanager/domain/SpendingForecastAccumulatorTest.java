@@ -0,0 +1,75 @@
+package com.example.subscriptionmanager.domain;
+
+import com.example.subscriptionmanager.domain.exchange.ExchangeRateProvider;
+import com.example.subscriptionmanager.domain.model.BillingCycle;
+import com.example.subscriptionmanager.domain.model.Money;
+import com.example.subscriptionmanager.domain.service.SpendingForecastAccumulator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SpendingForecastAccumulatorTest {
+
+    private static final Currency PLN = Currency.getInstance("PLN");
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final YearMonth JANUARY = YearMonth.of(2026, 1);
+
+    @Test
+    void shouldChargeYearlySubscriptionOnlyInRenewalMonth() {
+        SpendingForecastAccumulator forecast = new SpendingForecastAccumulator(JANUARY, 24);
+
+        forecast.add(PLN, 60000, BillingCycle.YEARLY, LocalDate.of(2026, 3, 31), true);
+
+        assertEquals(60000, forecast.getMinorUnits(PLN, YearMonth.of(2026, 3)));
+        assertEquals(60000, forecast.getMinorUnits(PLN, YearMonth.of(2027, 3)));
+        assertEquals(0, forecast.getMinorUnits(PLN, YearMonth.of(2026, 4)));
+        assertEquals(0, forecast.getMinorUnits(PLN, YearMonth.of(2026, 2)));
+    }
+
+    @Test
+    void shouldChargeOnceWithoutAutoRenewal() {
+        SpendingForecastAccumulator forecast = new SpendingForecastAccumulator(JANUARY, 6);
+
+        forecast.add(PLN, 2999, BillingCycle.MONTHLY, LocalDate.of(2026, 2, 10), false);
+        forecast.add(PLN, 1000, BillingCycle.MONTHLY, LocalDate.of(2025, 12, 10), false);
+
+        assertEquals(0, forecast.getMinorUnits(PLN, YearMonth.of(2026, 1)));
+        assertEquals(2999, forecast.getMinorUnits(PLN, YearMonth.of(2026, 2)));
+        assertEquals(0, forecast.getMinorUnits(PLN, YearMonth.of(2026, 3)));
+    }
+
+    @Test
+    void shouldCarryOverdueRenewalIntoHorizon() {
+        SpendingForecastAccumulator forecast = new SpendingForecastAccumulator(JANUARY, 12);
+
+        forecast.add(PLN, 12000, BillingCycle.YEARLY, LocalDate.of(2024, 8, 1), true);
+        forecast.add(PLN, 999, BillingCycle.TRIAL, LocalDate.of(2026, 1, 1), true);
+
+        assertEquals(12000, forecast.getMinorUnits(PLN, YearMonth.of(2026, 8)));
+        assertEquals(0, forecast.getMinorUnits(PLN, YearMonth.of(2026, 1)));
+    }
+
+    @Test
+    void shouldConvertEveryMonthToTargetCurrency() {
+        ExchangeRateProvider exchangeRateProvider = mock(ExchangeRateProvider.class);
+        when(exchangeRateProvider.getExchangeRateOrNaN(EUR, PLN)).thenReturn(4.25);
+
+        SpendingForecastAccumulator forecast = new SpendingForecastAccumulator(JANUARY, 2);
+        forecast.add(PLN, 2999, BillingCycle.MONTHLY, LocalDate.of(2026, 1, 5), true);
+        forecast.add(EUR, 1000, BillingCycle.YEARLY, LocalDate.of(2026, 2, 5), true);
+
+        Optional<List<Money>> totals = forecast.totals(exchangeRateProvider, PLN);
+
+        assertTrue(totals.isPresent());
+        assertEquals(new Money(BigDecimal.valueOf(29.99), PLN), totals.get().get(0));
+        assertEquals(new Money(BigDecimal.valueOf(72.49), PLN), totals.get().get(1));
+    }
+}
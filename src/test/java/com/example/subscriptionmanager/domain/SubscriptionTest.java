@@ -144,4 +144,28 @@ class SubscriptionTest {
                 true
         );
     }
+
+    @Test
+    void shouldRestoreCancelledSubscriptionWithPastPaymentDate() {
+        SubscriptionId subscriptionId = SubscriptionId.newId();
+        Money price = Money.restore(new BigDecimal("29.99"), Currency.getInstance("PLN"));
+        LocalDate pastPaymentDate = LocalDate.now().minusMonths(3);
+
+        Subscription subscription = Subscription.restore(
+                subscriptionId,
+                UserId.newId(),
+                "Spotify",
+                price,
+                BillingCycle.MONTHLY,
+                pastPaymentDate,
+                false,
+                SubscriptionStatus.CANCELLED
+        );
+
+        assertEquals(subscriptionId, subscription.getSubscriptionId());
+        assertEquals(pastPaymentDate, subscription.getNextPaymentDate());
+        assertEquals(SubscriptionStatus.CANCELLED, subscription.getStatus());
+        assertEquals(2999, subscription.getPrice().getMinorUnits());
+        assertThrows(IllegalStateException.class, subscription::cancel);
+    }
 }
@@ -0,0 +1,88 @@
+package com.example.subscriptionmanager.infrastructure.exchange;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private MutableClock clock;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-05T12:00:00Z"));
+        circuitBreaker = new CircuitBreaker(3, Duration.ofMinutes(1), clock);
+    }
+
+    @Test
+    void shouldStayClosedBelowFailureThreshold() {
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+
+        assertTrue(circuitBreaker.allowRequest());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void shouldOpenAfterConsecutiveFailures() {
+        tripBreaker();
+
+        assertFalse(circuitBreaker.allowRequest());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void shouldResetFailureCountOnSuccess() {
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordSuccess();
+        circuitBreaker.recordFailure();
+
+        assertTrue(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    void shouldAdmitSingleTrialCallAfterOpenDuration() {
+        tripBreaker();
+        clock.advance(Duration.ofMinutes(1));
+
+        assertTrue(circuitBreaker.allowRequest());
+        assertFalse(circuitBreaker.allowRequest());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void shouldCloseWhenTrialCallSucceeds() {
+        tripBreaker();
+        clock.advance(Duration.ofMinutes(1));
+        circuitBreaker.allowRequest();
+
+        circuitBreaker.recordSuccess();
+
+        assertTrue(circuitBreaker.allowRequest());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void shouldReopenWhenTrialCallFails() {
+        tripBreaker();
+        clock.advance(Duration.ofMinutes(1));
+        circuitBreaker.allowRequest();
+
+        circuitBreaker.recordFailure();
+
+        assertFalse(circuitBreaker.allowRequest());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    private void tripBreaker() {
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+    }
+}
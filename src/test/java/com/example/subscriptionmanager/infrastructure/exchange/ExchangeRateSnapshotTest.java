@@ -0,0 +1,51 @@
+package com.example.subscriptionmanager.infrastructure.exchange;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExchangeRateSnapshotTest {
+
+    private static final Currency PLN = Currency.getInstance("PLN");
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency GBP = Currency.getInstance("GBP");
+
+    private final ExchangeRateSnapshot snapshot = new ExchangeRateSnapshot(
+            LocalDate.of(2026, 1, 5),
+            Instant.parse("2026-01-05T12:00:00Z"),
+            Map.of(EUR, 4.25, USD, 4.0));
+
+    @Test
+    void shouldConvertForeignCurrencyToPln() {
+        assertEquals(4.25, snapshot.getRateOrNaN(EUR, PLN), 1e-12);
+    }
+
+    @Test
+    void shouldConvertPlnToForeignCurrency() {
+        assertEquals(0.25, snapshot.getRateOrNaN(PLN, USD), 1e-12);
+    }
+
+    @Test
+    void shouldCrossRateThroughPln() {
+        assertEquals(4.25 / 4.0, snapshot.getRateOrNaN(EUR, USD), 1e-12);
+        assertEquals(4.0 / 4.25, snapshot.getRateOrNaN(USD, EUR), 1e-12);
+    }
+
+    @Test
+    void shouldReturnNaNForCurrencyMissingFromTable() {
+        assertTrue(Double.isNaN(snapshot.getRateOrNaN(GBP, PLN)));
+        assertTrue(snapshot.getRate(GBP, PLN).isEmpty());
+    }
+
+    @Test
+    void shouldNotConvertFromEmptySnapshot() {
+        assertTrue(Double.isNaN(ExchangeRateSnapshot.empty().getRateOrNaN(EUR, PLN)));
+        assertEquals(1.0, ExchangeRateSnapshot.empty().getRateOrNaN(PLN, PLN));
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.subscriptionmanager.infrastructure.exchange;
+
+import com.example.subscriptionmanager.infrastructure.persistence.jpa.JpaExchangeRateStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks when NbpExchangeRateProvider answers from the store and when it calls NBP.
+ * NBP is replaced by an interceptor that counts requests and answers with the configured response.
+ */
+class NbpExchangeRateProviderTest {
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final Currency PLN = Currency.getInstance("PLN");
+    private static final Instant NOW = Instant.parse("2026-06-15T10:00:00Z");
+    private static final LocalDate TODAY = LocalDate.of(2026, 6, 15);
+    private static final LocalDate HISTORICAL = TODAY.minusDays(100);
+
+    private final AtomicInteger nbpCalls = new AtomicInteger();
+    private NbpResponse nbpResponse = () -> {
+        throw new IOException("NBP should not be called");
+    };
+
+    private final MutableClock clock = new MutableClock(NOW);
+    private JpaExchangeRateStore store;
+    private ExecutorService executor;
+    private NbpExchangeRateProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        store = mock(JpaExchangeRateStore.class);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        provider = provider(5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldWarmStartFromStoreWithoutCallingNbp() {
+        when(store.findLatest()).thenReturn(Optional.of(table(TODAY, NOW, 4.25)));
+
+        provider.scheduledRefresh();
+
+        assertEquals(Optional.of(4.25), provider.getExchangeRate(EUR, PLN));
+        assertEquals(Optional.of(4.25), provider.getExchangeRate(EUR, PLN, TODAY));
+        assertEquals(0, nbpCalls.get());
+    }
+
+    @Test
+    void shouldRefreshStaleStoredTableOnce() {
+        when(store.findLatest()).thenReturn(Optional.of(table(TODAY.minusDays(1), NOW.minus(Duration.ofHours(2)), 4.25)));
+        nbpResponse = () -> json(TODAY, 4.30);
+
+        provider.scheduledRefresh();
+
+        assertEquals(Optional.of(4.30), provider.getExchangeRate(EUR, PLN));
+        assertEquals(1, nbpCalls.get());
+        verify(store).save(any());
+    }
+
+    @Test
+    void shouldAnswerStoredHistoricalDateWithoutCallingNbp() {
+        when(store.findLatest()).thenReturn(Optional.of(table(TODAY, NOW, 4.25)));
+        when(store.findOnOrBefore(HISTORICAL)).thenReturn(Optional.of(table(HISTORICAL.minusDays(2), NOW, 4.10)));
+
+        assertEquals(Optional.of(4.10), provider.getExchangeRate(EUR, PLN, HISTORICAL));
+        assertEquals(0, nbpCalls.get());
+    }
+
+    @Test
+    void shouldFetchAndStoreMissingHistory() {
+        when(store.findLatest()).thenReturn(Optional.of(table(TODAY, NOW, 4.25)));
+        when(store.findOnOrBefore(HISTORICAL)).thenReturn(Optional.empty());
+        nbpResponse = () -> json(HISTORICAL, 4.50);
+
+        assertEquals(Optional.of(4.50), provider.getExchangeRate(EUR, PLN, HISTORICAL));
+        assertEquals(1, nbpCalls.get());
+        verify(store).save(any());
+    }
+
+    @Test
+    void shouldRememberDateNbpHasNoTableFor() {
+        when(store.findLatest()).thenReturn(Optional.of(table(TODAY, NOW, 4.25)));
+        when(store.findOnOrBefore(HISTORICAL)).thenReturn(Optional.empty());
+        nbpResponse = () -> new MockClientHttpResponse(new byte[0], HttpStatus.NOT_FOUND);
+
+        assertEquals(Optional.empty(), provider.getExchangeRate(EUR, PLN, HISTORICAL));
+        assertEquals(Optional.empty(), provider.getExchangeRate(EUR, PLN, HISTORICAL));
+        assertEquals(1, nbpCalls.get());
+        verify(store, never()).save(any());
+    }
+
+    @Test
+    void shouldNotRememberFailedFetch() {
+        when(store.findLatest()).thenReturn(Optional.of(table(TODAY, NOW, 4.25)));
+        when(store.findOnOrBefore(HISTORICAL)).thenReturn(Optional.empty());
+
+        assertEquals(Optional.empty(), provider.getExchangeRate(EUR, PLN, HISTORICAL));
+        assertEquals(Optional.empty(), provider.getExchangeRate(EUR, PLN, HISTORICAL));
+        assertEquals(2, nbpCalls.get());
+    }
+
+    @Test
+    void shouldServeStaleSnapshotWhileFailingRefreshRuns() throws Exception {
+        when(store.findLatest()).thenReturn(Optional.of(table(TODAY, NOW, 4.25)));
+        assertEquals(Optional.of(4.25), provider.getExchangeRate(EUR, PLN));
+
+        CountDownLatch refreshing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        nbpResponse = () -> {
+            refreshing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("NBP unavailable");
+        };
+        clock.advance(Duration.ofHours(2));
+
+        try {
+            // Answered from the stale snapshot while NBP hangs
+            assertTimeoutPreemptively(Duration.ofSeconds(1),
+                    () -> assertEquals(Optional.of(4.25), provider.getExchangeRate(EUR, PLN)));
+            assertTrue(refreshing.await(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+        }
+
+        assertEquals(Optional.of(4.25), provider.getExchangeRate(EUR, PLN));
+        assertEquals(Optional.of(Duration.ofHours(2)), provider.getRatesAge());
+    }
+
+    @Test
+    void shouldReportGrowingRatesAge() {
+        when(store.findLatest()).thenReturn(Optional.of(table(TODAY, NOW, 4.25)));
+        assertEquals(Optional.empty(), provider.getRatesAge());
+
+        provider.scheduledRefresh();
+        assertEquals(Optional.of(Duration.ZERO), provider.getRatesAge());
+
+        clock.advance(Duration.ofSeconds(90));
+        assertEquals(Optional.of(Duration.ofSeconds(90)), provider.getRatesAge());
+
+        clock.advance(Duration.ofMinutes(10));
+        assertEquals(Optional.of(Duration.ofSeconds(690)), provider.getRatesAge());
+        assertEquals(Optional.of(NOW), provider.getRatesFetchedAt());
+    }
+
+    @Test
+    void shouldNotCallNbpWhileBreakerIsOpen() {
+        provider = provider(1);
+        when(store.findLatest()).thenReturn(Optional.of(table(TODAY, NOW, 4.25)));
+        when(store.findOnOrBefore(HISTORICAL)).thenReturn(Optional.empty());
+        nbpResponse = () -> {
+            throw new IOException("NBP unavailable");
+        };
+        assertEquals(Optional.empty(), provider.getExchangeRate(EUR, PLN, HISTORICAL));
+        assertEquals(1, nbpCalls.get());
+
+        // NBP would now hang, but the open breaker answers without asking it
+        nbpResponse = () -> {
+            try {
+                Thread.sleep(Duration.ofSeconds(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("NBP unavailable");
+        };
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            assertEquals(Optional.empty(), provider.getExchangeRate(EUR, PLN, HISTORICAL));
+            assertEquals(Optional.empty(), provider.getExchangeRate(EUR, PLN, HISTORICAL.minusDays(1)));
+        });
+        assertEquals(1, nbpCalls.get());
+
+        // After the open duration a single trial call goes out again
+        nbpResponse = () -> json(HISTORICAL, 4.50);
+        clock.advance(Duration.ofMinutes(2));
+        assertEquals(Optional.of(4.50), provider.getExchangeRate(EUR, PLN, HISTORICAL));
+        assertEquals(2, nbpCalls.get());
+    }
+
+    private NbpExchangeRateProvider provider(int failureThreshold) {
+        RestClient restClient = RestClient.builder()
+                .requestInterceptor((request, body, execution) -> {
+                    nbpCalls.incrementAndGet();
+                    return nbpResponse.get();
+                })
+                .build();
+        return new NbpExchangeRateProvider(restClient, store, executor, Duration.ofHours(1),
+                new NbpTimeouts(Duration.ofSeconds(2), Duration.ofSeconds(3)), failureThreshold,
+                Duration.ofMinutes(1), clock);
+    }
+
+    private static ExchangeRateSnapshot table(LocalDate effectiveDate, Instant fetchedAt, double eurRate) {
+        return new ExchangeRateSnapshot(effectiveDate, fetchedAt, Map.of(EUR, eurRate));
+    }
+
+    private static ClientHttpResponse json(LocalDate effectiveDate, double eurRate) {
+        String body = "[{\"table\":\"A\",\"no\":\"001/A/NBP\",\"effectiveDate\":\"" + effectiveDate + "\","
+                + "\"rates\":[{\"currency\":\"euro\",\"code\":\"EUR\",\"mid\":" + eurRate + "}]}]";
+        MockClientHttpResponse response = new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response;
+    }
+
+    @FunctionalInterface
+    private interface NbpResponse {
+        ClientHttpResponse get() throws IOException;
+    }
+}
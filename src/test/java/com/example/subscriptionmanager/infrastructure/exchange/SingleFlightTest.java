@@ -0,0 +1,83 @@
+package com.example.subscriptionmanager.infrastructure.exchange;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private ExecutorService executor;
+    private SingleFlight<String, String> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        singleFlight = new SingleFlight<>(executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentCallersForSameKey() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<String> first = singleFlight.execute("current", () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "table";
+        });
+        CompletableFuture<String> second = singleFlight.execute("current", () -> {
+            loads.incrementAndGet();
+            return "other";
+        });
+        release.countDown();
+
+        assertSame(first, second);
+        assertEquals("table", second.get(1, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldLoadAgainOnceThePreviousLoadCompleted() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute("current", () -> "table-" + loads.incrementAndGet()).get(1, TimeUnit.SECONDS);
+        String reloaded = singleFlight.execute("current", () -> "table-" + loads.incrementAndGet())
+                .get(1, TimeUnit.SECONDS);
+
+        assertEquals("table-2", reloaded);
+    }
+
+    @Test
+    void shouldPropagateLoaderFailureToAllWaiters() {
+        CompletableFuture<String> failed = singleFlight.execute("current", () -> {
+            throw new IllegalStateException("NBP unavailable");
+        });
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> failed.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
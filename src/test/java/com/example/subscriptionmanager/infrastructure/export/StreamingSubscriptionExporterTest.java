@@ -0,0 +1,48 @@
+package com.example.subscriptionmanager.infrastructure.export;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingSubscriptionExporterTest {
+
+    @Test
+    void shouldLeavePlainCsvFieldAsIs() {
+        assertEquals("Netflix Premium", StreamingSubscriptionExporter.csvField("Netflix Premium"));
+        assertEquals("", StreamingSubscriptionExporter.csvField(""));
+    }
+
+    @Test
+    void shouldQuoteCsvFieldWithSeparatorsQuotesAndLineBreaks() {
+        assertEquals("\"Netflix, HBO\"", StreamingSubscriptionExporter.csvField("Netflix, HBO"));
+        assertEquals("\"The \"\"Best\"\" Plan\"", StreamingSubscriptionExporter.csvField("The \"Best\" Plan"));
+        assertEquals("\"Line\nbreak\"", StreamingSubscriptionExporter.csvField("Line\nbreak"));
+    }
+
+    @Test
+    void shouldNeutralizeFormulaPrefixes() {
+        assertEquals("\"'=HYPERLINK(\"\"x\"\")\"", StreamingSubscriptionExporter.csvField("=HYPERLINK(\"x\")"));
+        assertEquals("'+1", StreamingSubscriptionExporter.csvField("+1"));
+        assertEquals("'-1", StreamingSubscriptionExporter.csvField("-1"));
+        assertEquals("'@SUM(A1)", StreamingSubscriptionExporter.csvField("@SUM(A1)"));
+        assertEquals("'\tTab", StreamingSubscriptionExporter.csvField("\tTab"));
+        assertEquals("\"'\rReturn\"", StreamingSubscriptionExporter.csvField("\rReturn"));
+        assertEquals("\"'=1,2\"", StreamingSubscriptionExporter.csvField("=1,2"));
+    }
+
+    @Test
+    void shouldNotNeutralizeFormulaCharactersInsideValue() {
+        assertEquals("Disney+", StreamingSubscriptionExporter.csvField("Disney+"));
+        assertEquals("a=b", StreamingSubscriptionExporter.csvField("a=b"));
+    }
+
+    @Test
+    void shouldEscapeJsonStrings() {
+        assertEquals("\"Netflix\"", StreamingSubscriptionExporter.jsonString("Netflix"));
+        assertEquals("\"The \\\"Best\\\" Plan\"", StreamingSubscriptionExporter.jsonString("The \"Best\" Plan"));
+        assertEquals("\"back\\\\slash\"", StreamingSubscriptionExporter.jsonString("back\\slash"));
+        assertEquals("\"a\\nb\\rc\\td\"", StreamingSubscriptionExporter.jsonString("a\nb\rc\td"));
+        assertEquals("\"bell\\u0007\"", StreamingSubscriptionExporter.jsonString("bell\u0007"));
+        assertEquals("\"zażółć\"", StreamingSubscriptionExporter.jsonString("zażółć"));
+    }
+}
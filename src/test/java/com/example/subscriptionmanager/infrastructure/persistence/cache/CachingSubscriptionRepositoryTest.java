@@ -0,0 +1,94 @@
+package com.example.subscriptionmanager.infrastructure.persistence.cache;
+
+import com.example.subscriptionmanager.domain.model.*;
+import com.example.subscriptionmanager.infrastructure.persistence.jpa.JpaSubscriptionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingSubscriptionRepositoryTest {
+
+    private final UserId userId = UserId.newId();
+    private JpaSubscriptionRepository delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private CachingSubscriptionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(JpaSubscriptionRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        repository = new CachingSubscriptionRepository(delegate, meterRegistry, 1000, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void shouldLoadUserSubscriptionsOnceForRepeatedReads() {
+        Subscription active = subscription(SubscriptionStatus.ACTIVE);
+        Subscription cancelled = subscription(SubscriptionStatus.CANCELLED);
+        when(delegate.findByUserId(userId)).thenReturn(List.of(active, cancelled));
+
+        assertEquals(2, repository.findByUserId(userId).size());
+        assertEquals(List.of(active), repository.findActiveByUserId(userId));
+        assertEquals(2, repository.findByUserId(userId).size());
+
+        verify(delegate, times(1)).findByUserId(userId);
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "subscriptions").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void shouldReloadAfterSave() {
+        Subscription active = subscription(SubscriptionStatus.ACTIVE);
+        when(delegate.findByUserId(userId)).thenReturn(List.of(active));
+        when(delegate.save(active)).thenReturn(active);
+
+        repository.findByUserId(userId);
+        repository.save(active);
+        repository.findByUserId(userId);
+
+        verify(delegate, times(2)).findByUserId(userId);
+    }
+
+    @Test
+    void shouldDropEntryOnDeleteWithoutLookingUpOwner() {
+        Subscription active = subscription(SubscriptionStatus.ACTIVE);
+        when(delegate.findByUserId(userId)).thenReturn(List.of(active));
+
+        repository.findByUserId(userId);
+        repository.delete(active.getSubscriptionId(), userId);
+        repository.findByUserId(userId);
+
+        verify(delegate).delete(active.getSubscriptionId(), userId);
+        verify(delegate, never()).findById(any());
+        verify(delegate, times(2)).findByUserId(userId);
+    }
+
+    @Test
+    void shouldNotExposeCachedInstancesToCallers() {
+        when(delegate.findByUserId(userId)).thenReturn(List.of(subscription(SubscriptionStatus.ACTIVE)));
+
+        repository.findByUserId(userId).get(0).cancel();
+
+        assertEquals(1, repository.findActiveByUserId(userId).size());
+    }
+
+    private Subscription subscription(SubscriptionStatus status) {
+        return Subscription.restore(
+                SubscriptionId.newId(),
+                userId,
+                "Netflix",
+                new Money(new BigDecimal("29.99"), Currency.getInstance("PLN")),
+                BillingCycle.MONTHLY,
+                LocalDate.now().plusDays(5),
+                true,
+                status);
+    }
+}
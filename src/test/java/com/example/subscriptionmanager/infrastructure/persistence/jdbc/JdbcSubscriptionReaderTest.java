@@ -0,0 +1,112 @@
+package com.example.subscriptionmanager.infrastructure.persistence.jdbc;
+
+import com.example.subscriptionmanager.domain.model.*;
+import com.example.subscriptionmanager.infrastructure.persistence.jpa.JpaSubscriptionRepository;
+import com.example.subscriptionmanager.infrastructure.persistence.jpa.SpringDataSubscriptionCostSummaryRepository;
+import com.example.subscriptionmanager.infrastructure.persistence.jpa.SpringDataSubscriptionRepository;
+import com.example.subscriptionmanager.infrastructure.persistence.jpa.SubscriptionEntityMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the JDBC read path of JpaSubscriptionRepository returns what the JPA path returns.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({SubscriptionEntityMapper.class, JdbcSubscriptionBatchInserter.class, JdbcSubscriptionReader.class})
+class JdbcSubscriptionReaderTest {
+
+    @Autowired
+    private SpringDataSubscriptionRepository springDataRepository;
+
+    @Autowired
+    private SpringDataSubscriptionCostSummaryRepository costSummaryRepository;
+
+    @Autowired
+    private SubscriptionEntityMapper mapper;
+
+    @Autowired
+    private JdbcSubscriptionBatchInserter batchInserter;
+
+    @Autowired
+    private JdbcSubscriptionReader jdbcReader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UserId userId = UserId.newId();
+    private JpaSubscriptionRepository jpaPath;
+    private JpaSubscriptionRepository jdbcPath;
+
+    @BeforeEach
+    void setUp() {
+        jpaPath = repository("jpa");
+        jdbcPath = repository("jdbc");
+
+        Currency pln = Currency.getInstance("PLN");
+        List<Subscription> subscriptions = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Subscription subscription = Subscription.create(
+                    SubscriptionId.newId(),
+                    userId,
+                    "Subscription " + i,
+                    new Money(new BigDecimal("19.99"), pln),
+                    i % 2 == 0 ? BillingCycle.MONTHLY : BillingCycle.YEARLY,
+                    LocalDate.now().plusDays(i + 1),
+                    true);
+            if (i % 4 == 0) {
+                subscription.cancel();
+            }
+            subscriptions.add(subscription);
+        }
+        springDataRepository.saveAllAndFlush(subscriptions.stream().map(mapper::toEntity).toList());
+
+        // The summary upsert is Postgres-only, so the row it would keep is written directly
+        jdbcTemplate.update(
+                "insert into subscription_cost_summaries "
+                        + "(user_id, price_currency, billing_cycle, total_amount, subscription_count) "
+                        + "values (?, 'PLN', 'MONTHLY', ?, ?)",
+                userId.getValue(), new BigDecimal("99.95"), 5L);
+    }
+
+    @Test
+    void shouldReturnSameResultsOnBothPaths() {
+        assertEquals(new HashSet<>(jpaPath.findByUserId(userId)), new HashSet<>(jdbcPath.findByUserId(userId)));
+        assertEquals(new HashSet<>(jpaPath.findActiveByUserId(userId)),
+                new HashSet<>(jdbcPath.findActiveByUserId(userId)));
+
+        Subscription viaJpa = jpaPath.findByUserId(userId).get(0);
+        Subscription viaJdbc = jdbcPath.findById(viaJpa.getSubscriptionId()).orElseThrow();
+        assertEquals(viaJpa.getName(), viaJdbc.getName());
+        assertEquals(viaJpa.getPrice(), viaJdbc.getPrice());
+        assertEquals(viaJpa.getBillingCycle(), viaJdbc.getBillingCycle());
+        assertEquals(viaJpa.getNextPaymentDate(), viaJdbc.getNextPaymentDate());
+        assertEquals(viaJpa.getStatus(), viaJdbc.getStatus());
+        assertTrue(jdbcPath.existsById(viaJpa.getSubscriptionId()));
+        assertFalse(jdbcPath.existsById(SubscriptionId.newId()));
+
+        SubscriptionCostGroup group = jdbcPath.findActiveCostGroupsByUserId(userId).get(0);
+        assertEquals(jpaPath.findActiveCostGroupsByUserId(userId).get(0).getTotalPrice(), group.getTotalPrice());
+        assertEquals(5L, group.getSubscriptionCount());
+    }
+
+    private JpaSubscriptionRepository repository(String readPath) {
+        return new JpaSubscriptionRepository(
+                springDataRepository, costSummaryRepository, mapper, batchInserter, jdbcReader, readPath);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.subscriptionmanager.infrastructure.persistence.jdbc;
+
+import com.example.subscriptionmanager.domain.model.BillingCycle;
+import com.example.subscriptionmanager.domain.model.Money;
+import com.example.subscriptionmanager.domain.model.SubscriptionCostGroup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the chunked report sums every active row exactly once, whatever the chunk count,
+ * including ids sitting on chunk bounds and at both ends of the key space.
+ * Chunks run on their own connections, so rows are committed rather than kept in a test transaction.
+ * Runs against Postgres, whose uuid ordering the chunk bounds rely on; skipped without Docker.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ParallelSubscriptionCostReportRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:15-alpine");
+
+    private static final Currency PLN = Currency.getInstance("PLN");
+    private static final Currency EUR = Currency.getInstance("EUR");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        // Lowest and highest possible ids, and ids exactly on the bounds of 7 chunks
+        insert(new UUID(0L, 0L), "10.00", "PLN", "MONTHLY", "ACTIVE");
+        insert(new UUID(-1L, -1L), "20.00", "PLN", "MONTHLY", "ACTIVE");
+        for (int chunk = 1; chunk < 7; chunk++) {
+            long prefix = (long) chunk * (1 << 16) / 7;
+            insert(new UUID(prefix << 48, 0L), "1.00", "EUR", "YEARLY", "ACTIVE");
+        }
+        for (int i = 0; i < 200; i++) {
+            insert(UUID.randomUUID(), "5.00", i % 2 == 0 ? "PLN" : "EUR", "MONTHLY", "ACTIVE");
+        }
+        insert(UUID.randomUUID(), "999.00", "PLN", "MONTHLY", "CANCELLED");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from subscriptions");
+    }
+
+    @Test
+    void shouldSumEveryActiveRowOnceAcrossChunks() {
+        Set<SubscriptionCostGroup> expected = Set.of(
+                new SubscriptionCostGroup(new Money(new BigDecimal("530.00"), PLN), BillingCycle.MONTHLY, 102),
+                new SubscriptionCostGroup(new Money(new BigDecimal("500.00"), EUR), BillingCycle.MONTHLY, 100),
+                new SubscriptionCostGroup(new Money(new BigDecimal("6.00"), EUR), BillingCycle.YEARLY, 6));
+
+        assertEquals(expected, report(1, 1));
+        assertEquals(expected, report(7, 3));
+        assertEquals(expected, report(256, 4));
+    }
+
+    @Test
+    void shouldRejectChunkCountOutsideKeySpace() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParallelSubscriptionCostReportRepository(jdbcTemplate, transactionManager, 0, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParallelSubscriptionCostReportRepository(jdbcTemplate, transactionManager, (1 << 16) + 1, 1));
+    }
+
+    private Set<SubscriptionCostGroup> report(int chunks, int parallelism) {
+        ParallelSubscriptionCostReportRepository repository =
+                new ParallelSubscriptionCostReportRepository(jdbcTemplate, transactionManager, chunks, parallelism);
+        try {
+            List<SubscriptionCostGroup> groups = repository.sumActiveCostGroups();
+            Set<SubscriptionCostGroup> unique = new HashSet<>(groups);
+            assertEquals(groups.size(), unique.size(), "each group is reported once");
+            return unique;
+        } finally {
+            repository.destroy();
+        }
+    }
+
+    private void insert(UUID id, String amount, String currency, String billingCycle, String status) {
+        jdbcTemplate.update(
+                "insert into subscriptions (id, user_id, name, price_amount, price_currency, billing_cycle, "
+                        + "next_payment_date, auto_renewal, status) values (?, ?, 'Report', ?, ?, ?, ?, true, ?)",
+                id, UUID.randomUUID(), new BigDecimal(amount), currency, billingCycle,
+                Date.valueOf(LocalDate.now().plusDays(10)), status);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.subscriptionmanager.infrastructure.persistence.jdbc;
+
+import com.example.subscriptionmanager.domain.model.*;
+import com.example.subscriptionmanager.infrastructure.persistence.jpa.JpaSubscriptionRepository;
+import com.example.subscriptionmanager.infrastructure.persistence.jpa.SpringDataSubscriptionCostSummaryRepository;
+import com.example.subscriptionmanager.infrastructure.persistence.jpa.SpringDataSubscriptionRepository;
+import com.example.subscriptionmanager.infrastructure.persistence.jpa.SubscriptionEntityMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Times the JPA and the JDBC read paths of JpaSubscriptionRepository on the same data.
+ * Each call runs in its own transaction, as it does behind a controller, so the persistence
+ * context starts empty every time. Run with ./gradlew benchmark; an in-memory database only
+ * shows mapping overhead, compare against Postgres before changing the production setting.
+ * JdbcSubscriptionReaderTest checks that both paths return the same results.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({SubscriptionEntityMapper.class, JdbcSubscriptionBatchInserter.class, JdbcSubscriptionReader.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SubscriptionReadPathBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionReadPathBenchmarkTest.class);
+    private static final int USERS = 200;
+    private static final int SUBSCRIPTIONS_PER_USER = 20;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 20;
+
+    @Autowired
+    private SpringDataSubscriptionRepository springDataRepository;
+
+    @Autowired
+    private SpringDataSubscriptionCostSummaryRepository costSummaryRepository;
+
+    @Autowired
+    private SubscriptionEntityMapper mapper;
+
+    @Autowired
+    private JdbcSubscriptionBatchInserter batchInserter;
+
+    @Autowired
+    private JdbcSubscriptionReader jdbcReader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<UserId> userIds = new ArrayList<>();
+    private JpaSubscriptionRepository jpaPath;
+    private JpaSubscriptionRepository jdbcPath;
+
+    @BeforeEach
+    void setUp() {
+        jpaPath = repository("jpa");
+        jdbcPath = repository("jdbc");
+
+        Currency pln = Currency.getInstance("PLN");
+        List<Subscription> subscriptions = new ArrayList<>();
+        for (int user = 0; user < USERS; user++) {
+            UserId userId = UserId.newId();
+            userIds.add(userId);
+            for (int i = 0; i < SUBSCRIPTIONS_PER_USER; i++) {
+                Subscription subscription = Subscription.create(
+                        SubscriptionId.newId(),
+                        userId,
+                        "Subscription " + i,
+                        new Money(new BigDecimal("19.99"), pln),
+                        i % 2 == 0 ? BillingCycle.MONTHLY : BillingCycle.YEARLY,
+                        LocalDate.now().plusDays(i + 1),
+                        true);
+                if (i % 4 == 0) {
+                    subscription.cancel();
+                }
+                subscriptions.add(subscription);
+            }
+            // The summary upsert is Postgres-only, so the rows it would keep are written directly
+            jdbcTemplate.update(
+                    "insert into subscription_cost_summaries "
+                            + "(user_id, price_currency, billing_cycle, total_amount, subscription_count) "
+                            + "values (?, 'PLN', 'MONTHLY', ?, ?)",
+                    userId.getValue(), new BigDecimal("99.95"), 5L);
+        }
+        springDataRepository.saveAll(subscriptions.stream().map(mapper::toEntity).toList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from subscription_cost_summaries");
+        jdbcTemplate.update("delete from subscriptions");
+    }
+
+    @Test
+    void compareFindByUserId() {
+        compare("findByUserId", repository -> userIds.forEach(repository::findByUserId));
+    }
+
+    @Test
+    void compareFindActiveByUserId() {
+        compare("findActiveByUserId", repository -> userIds.forEach(repository::findActiveByUserId));
+    }
+
+    @Test
+    void compareFindActiveCostGroupsByUserId() {
+        compare("findActiveCostGroupsByUserId",
+                repository -> userIds.forEach(repository::findActiveCostGroupsByUserId));
+    }
+
+    private void compare(String query, Consumer<JpaSubscriptionRepository> round) {
+        long jpaNanos = measure(jpaPath, round);
+        long jdbcNanos = measure(jdbcPath, round);
+        long calls = (long) USERS * MEASURED_ROUNDS;
+        log.info("{}: jpa {} us/call, jdbc {} us/call ({}x)",
+                query,
+                jpaNanos / calls / 1000,
+                jdbcNanos / calls / 1000,
+                String.format("%.2f", (double) jpaNanos / jdbcNanos));
+    }
+
+    private long measure(JpaSubscriptionRepository repository, Consumer<JpaSubscriptionRepository> round) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            round.accept(repository);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            round.accept(repository);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private JpaSubscriptionRepository repository(String readPath) {
+        return new JpaSubscriptionRepository(
+                springDataRepository, costSummaryRepository, mapper, batchInserter, jdbcReader, readPath);
+    }
+}
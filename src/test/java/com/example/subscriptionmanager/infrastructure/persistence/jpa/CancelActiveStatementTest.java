@@ -0,0 +1,112 @@
+package com.example.subscriptionmanager.infrastructure.persistence.jpa;
+
+import com.example.subscriptionmanager.domain.model.*;
+import com.example.subscriptionmanager.infrastructure.persistence.jdbc.JdbcSubscriptionBatchInserter;
+import com.example.subscriptionmanager.infrastructure.persistence.jdbc.JdbcSubscriptionReader;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the cancel CTE of SpringDataSubscriptionRepository against Postgres, which H2 cannot parse.
+ * Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaSubscriptionRepository.class, SubscriptionEntityMapper.class,
+        JdbcSubscriptionBatchInserter.class, JdbcSubscriptionReader.class})
+class CancelActiveStatementTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:15-alpine");
+
+    @Autowired
+    private JpaSubscriptionRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UserId userId = UserId.newId();
+    private Subscription subscription;
+
+    @BeforeEach
+    void setUp() {
+        subscription = repository.save(Subscription.create(
+                SubscriptionId.newId(),
+                userId,
+                "Netflix",
+                new Money(new BigDecimal("29.99"), Currency.getInstance("PLN")),
+                BillingCycle.MONTHLY,
+                LocalDate.now().plusDays(10),
+                true));
+        entityManager.flush();
+    }
+
+    @Test
+    void shouldCancelAndBumpVersionInOneStatement() {
+        long versionBefore = ((Number) row().get("version")).longValue();
+
+        assertEquals(CancellationResult.CANCELLED, repository.cancel(subscription.getSubscriptionId(), userId));
+
+        Map<String, Object> row = row();
+        assertEquals("CANCELLED", row.get("status"));
+        assertEquals(versionBefore + 1, ((Number) row.get("version")).longValue());
+        assertEquals(0L, summaryCount());
+    }
+
+    @Test
+    void shouldReportAlreadyCancelledWithoutTouchingSummary() {
+        repository.cancel(subscription.getSubscriptionId(), userId);
+
+        assertEquals(CancellationResult.ALREADY_CANCELLED, repository.cancel(subscription.getSubscriptionId(), userId));
+        assertEquals(0L, summaryCount());
+    }
+
+    @Test
+    void shouldNotCancelSubscriptionOfAnotherUser() {
+        assertEquals(CancellationResult.NOT_FOUND, repository.cancel(subscription.getSubscriptionId(), UserId.newId()));
+
+        assertEquals("ACTIVE", row().get("status"));
+        assertEquals(1L, summaryCount());
+    }
+
+    @Test
+    void shouldReportUnknownSubscriptionAsNotFound() {
+        assertEquals(CancellationResult.NOT_FOUND, repository.cancel(SubscriptionId.newId(), userId));
+    }
+
+    private Map<String, Object> row() {
+        return jdbcTemplate.queryForMap(
+                "select status, version from subscriptions where user_id = ? and id = ?",
+                userId.getValue(), subscription.getSubscriptionId().getValue());
+    }
+
+    private long summaryCount() {
+        Long count = jdbcTemplate.queryForObject(
+                "select subscription_count from subscription_cost_summaries "
+                        + "where user_id = ? and price_currency = 'PLN' and billing_cycle = 'MONTHLY'",
+                Long.class, userId.getValue());
+        return count == null ? 0L : count;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.subscriptionmanager.infrastructure.persistence.jpa;
+
+import com.example.subscriptionmanager.domain.model.*;
+import com.example.subscriptionmanager.infrastructure.persistence.jdbc.JdbcSubscriptionBatchInserter;
+import com.example.subscriptionmanager.infrastructure.persistence.jdbc.JdbcSubscriptionReader;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that subscription_cost_summaries matches the active subscriptions after every kind of write.
+ * The summary upsert and the cancel statement are Postgres SQL, so this runs against a real Postgres
+ * with the Flyway migrations applied. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaSubscriptionRepository.class, SubscriptionEntityMapper.class,
+        JdbcSubscriptionBatchInserter.class, JdbcSubscriptionReader.class})
+class CostSummaryConsistencyTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:15-alpine");
+
+    private static final Currency PLN = Currency.getInstance("PLN");
+
+    @Autowired
+    private JpaSubscriptionRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UserId userId = UserId.newId();
+
+    @Test
+    void shouldAddCreatedSubscription() {
+        repository.save(subscription("19.99", BillingCycle.MONTHLY));
+        repository.save(subscription("10.01", BillingCycle.MONTHLY));
+
+        assertSummary(BillingCycle.MONTHLY, "30.00", 2);
+    }
+
+    @Test
+    void shouldMoveUpdatedSubscriptionBetweenSummaries() {
+        Subscription created = repository.save(subscription("19.99", BillingCycle.MONTHLY));
+        Subscription stored = reload(created);
+
+        stored.update("Spotify", new Money(new BigDecimal("99.00"), PLN), BillingCycle.YEARLY,
+                stored.getNextPaymentDate(), true);
+        repository.save(stored);
+
+        assertSummary(BillingCycle.MONTHLY, "0.00", 0);
+        assertSummary(BillingCycle.YEARLY, "99.00", 1);
+    }
+
+    @Test
+    void shouldRemoveDeletedSubscription() {
+        Subscription kept = repository.save(subscription("19.99", BillingCycle.MONTHLY));
+        Subscription deleted = repository.save(subscription("5.00", BillingCycle.MONTHLY));
+
+        repository.delete(deleted.getSubscriptionId(), userId);
+        repository.delete(kept.getSubscriptionId(), UserId.newId());
+
+        assertSummary(BillingCycle.MONTHLY, "19.99", 1);
+    }
+
+    @Test
+    void shouldAddInsertedBatchOncePerGroup() {
+        Subscription cancelled = subscription("50.00", BillingCycle.MONTHLY);
+        cancelled.cancel();
+
+        repository.insertAll(List.of(
+                subscription("19.99", BillingCycle.MONTHLY),
+                subscription("10.00", BillingCycle.MONTHLY),
+                subscription("120.00", BillingCycle.YEARLY),
+                cancelled));
+
+        assertSummary(BillingCycle.MONTHLY, "29.99", 2);
+        assertSummary(BillingCycle.YEARLY, "120.00", 1);
+    }
+
+    @Test
+    void shouldRemoveCancelledSubscriptionOnlyOnce() {
+        Subscription created = repository.save(subscription("19.99", BillingCycle.MONTHLY));
+        repository.save(subscription("5.00", BillingCycle.MONTHLY));
+
+        assertEquals(CancellationResult.CANCELLED, repository.cancel(created.getSubscriptionId(), userId));
+        assertEquals(CancellationResult.ALREADY_CANCELLED, repository.cancel(created.getSubscriptionId(), userId));
+
+        assertSummary(BillingCycle.MONTHLY, "5.00", 1);
+    }
+
+    @Test
+    void shouldKeepSummaryRowAtZeroAndHideItFromReads() {
+        Subscription created = repository.save(subscription("19.99", BillingCycle.MONTHLY));
+
+        repository.cancel(created.getSubscriptionId(), userId);
+
+        assertSummary(BillingCycle.MONTHLY, "0.00", 0);
+        assertTrue(repository.findActiveCostGroupsByUserId(userId).isEmpty());
+    }
+
+    private Subscription subscription(String amount, BillingCycle billingCycle) {
+        return Subscription.create(
+                SubscriptionId.newId(),
+                userId,
+                "Netflix",
+                new Money(new BigDecimal(amount), PLN),
+                billingCycle,
+                LocalDate.now().plusDays(10),
+                true);
+    }
+
+    private Subscription reload(Subscription subscription) {
+        entityManager.flush();
+        entityManager.clear();
+        return repository.findById(subscription.getSubscriptionId()).orElseThrow();
+    }
+
+    private void assertSummary(BillingCycle billingCycle, String total, long count) {
+        entityManager.flush();
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "select total_amount, subscription_count from subscription_cost_summaries "
+                        + "where user_id = ? and price_currency = 'PLN' and billing_cycle = ?",
+                userId.getValue(), billingCycle.name());
+        assertEquals(0, new BigDecimal(total).compareTo((BigDecimal) row.get("total_amount")));
+        assertEquals(count, ((Number) row.get("subscription_count")).longValue());
+    }
+}
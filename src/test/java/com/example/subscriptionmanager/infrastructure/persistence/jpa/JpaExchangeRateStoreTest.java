@@ -0,0 +1,66 @@
+package com.example.subscriptionmanager.infrastructure.persistence.jpa;
+
+import com.example.subscriptionmanager.infrastructure.exchange.ExchangeRateSnapshot;
+import com.example.subscriptionmanager.infrastructure.persistence.jdbc.JdbcExchangeRateBatchUpserter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Currency;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the exchange rate upsert against Postgres, which H2 cannot parse.
+ * Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaExchangeRateStore.class, JdbcExchangeRateBatchUpserter.class})
+class JpaExchangeRateStoreTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:15-alpine");
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final LocalDate EFFECTIVE_DATE = LocalDate.of(2026, 3, 2);
+
+    @Autowired
+    private JpaExchangeRateStore store;
+
+    @Test
+    void shouldOverwriteRatesStoredForSameDate() {
+        Instant refetchedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        store.save(new ExchangeRateSnapshot(EFFECTIVE_DATE, refetchedAt.minusSeconds(3600), Map.of(EUR, 4.25)));
+        store.save(new ExchangeRateSnapshot(EFFECTIVE_DATE, refetchedAt, Map.of(EUR, 4.30, USD, 3.90)));
+
+        ExchangeRateSnapshot stored = store.findLatest().orElseThrow();
+        assertEquals(EFFECTIVE_DATE, stored.getEffectiveDate());
+        assertEquals(refetchedAt, stored.getFetchedAt());
+        assertEquals(Optional.of(4.30), stored.getRate(EUR, Currency.getInstance("PLN")));
+        assertEquals(Optional.of(3.90), stored.getRate(USD, Currency.getInstance("PLN")));
+    }
+
+    @Test
+    void shouldFindTableThatAppliedOnDate() {
+        store.save(new ExchangeRateSnapshot(EFFECTIVE_DATE, Instant.now(), Map.of(EUR, 4.25)));
+        store.save(new ExchangeRateSnapshot(EFFECTIVE_DATE.plusDays(3), Instant.now(), Map.of(EUR, 4.30)));
+
+        assertEquals(EFFECTIVE_DATE, store.findOnOrBefore(EFFECTIVE_DATE.plusDays(2)).orElseThrow().getEffectiveDate());
+        assertTrue(store.findOnOrBefore(EFFECTIVE_DATE.minusDays(1)).isEmpty());
+    }
+}
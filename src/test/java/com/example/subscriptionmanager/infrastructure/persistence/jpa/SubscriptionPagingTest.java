@@ -0,0 +1,88 @@
+package com.example.subscriptionmanager.infrastructure.persistence.jpa;
+
+import com.example.subscriptionmanager.application.query.SubscriptionFilter;
+import com.example.subscriptionmanager.application.query.SubscriptionPage;
+import com.example.subscriptionmanager.application.query.SubscriptionView;
+import com.example.subscriptionmanager.application.usecase.ListSubscriptionsUseCase;
+import com.example.subscriptionmanager.domain.model.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pages through a listing where most rows share the same next payment date,
+ * so page boundaries fall between rows told apart only by id.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({JpaSubscriptionQueryRepository.class, SubscriptionEntityMapper.class})
+class SubscriptionPagingTest {
+
+    @Autowired
+    private SpringDataSubscriptionRepository springDataRepository;
+
+    @Autowired
+    private JpaSubscriptionQueryRepository queryRepository;
+
+    @Autowired
+    private SubscriptionEntityMapper mapper;
+
+    private final UserId userId = UserId.newId();
+
+    @Test
+    void shouldVisitEveryRowOnceWhenPaymentDatesAreEqual() {
+        LocalDate sameDate = LocalDate.now().plusDays(7);
+        Set<UUID> expected = new HashSet<>();
+        List<Subscription> subscriptions = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            // Two rows before and one after the block of equal dates
+            LocalDate date = i < 2 ? sameDate.minusDays(i + 1) : i == 10 ? sameDate.plusDays(1) : sameDate;
+            Subscription subscription = subscription(date);
+            subscriptions.add(subscription);
+            expected.add(subscription.getSubscriptionId().getValue());
+        }
+        // Another user's rows on the same date must not leak into the pages
+        subscriptions.add(Subscription.create(SubscriptionId.newId(), UserId.newId(), "Other",
+                new Money(new BigDecimal("9.99"), Currency.getInstance("PLN")),
+                BillingCycle.MONTHLY, sameDate, true));
+        springDataRepository.saveAllAndFlush(subscriptions.stream().map(mapper::toEntity).toList());
+
+        ListSubscriptionsUseCase useCase = new ListSubscriptionsUseCase(queryRepository);
+        List<SubscriptionView> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            SubscriptionPage page = useCase.execute(userId.getValue().toString(), SubscriptionFilter.none(), cursor, 3);
+            seen.addAll(page.items());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(4, pages);
+        assertEquals(expected.size(), seen.size());
+        assertEquals(expected, new HashSet<>(seen.stream().map(SubscriptionView::subscriptionId).toList()));
+        for (int i = 1; i < seen.size(); i++) {
+            assertFalse(seen.get(i).nextPaymentDate().isBefore(seen.get(i - 1).nextPaymentDate()));
+        }
+    }
+
+    private Subscription subscription(LocalDate nextPaymentDate) {
+        return Subscription.create(
+                SubscriptionId.newId(),
+                userId,
+                "Netflix",
+                new Money(new BigDecimal("29.99"), Currency.getInstance("PLN")),
+                BillingCycle.MONTHLY,
+                nextPaymentDate,
+                true);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.subscriptionmanager.infrastructure.persistence.jpa;
+
+import com.example.subscriptionmanager.application.usecase.GetSubscriptionsETagUseCase;
+import com.example.subscriptionmanager.domain.exchange.ExchangeRateProvider;
+import com.example.subscriptionmanager.domain.model.*;
+import com.example.subscriptionmanager.infrastructure.persistence.jdbc.JdbcSubscriptionBatchInserter;
+import com.example.subscriptionmanager.infrastructure.persistence.jdbc.JdbcSubscriptionReader;
+import com.example.subscriptionmanager.infrastructure.renewal.SubscriptionRenewalJob;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checks that the listing ETag changes after every kind of write, including the ones that bypass JPA:
+ * the cancel statement, the renewal job and the JDBC batch insert.
+ * Runs against Postgres, skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaSubscriptionRepository.class, JpaSubscriptionQueryRepository.class, SubscriptionEntityMapper.class,
+        JdbcSubscriptionBatchInserter.class, JdbcSubscriptionReader.class})
+class SubscriptionsETagTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:15-alpine");
+
+    @Autowired
+    private JpaSubscriptionRepository repository;
+
+    @Autowired
+    private JpaSubscriptionQueryRepository queryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final UserId userId = UserId.newId();
+    private GetSubscriptionsETagUseCase eTags;
+    private Subscription subscription;
+
+    @BeforeEach
+    void setUp() {
+        eTags = new GetSubscriptionsETagUseCase(queryRepository, mock(ExchangeRateProvider.class), true);
+        subscription = repository.save(subscription("Netflix"));
+    }
+
+    @Test
+    void shouldChangeAfterCancel() {
+        String before = currentTag();
+
+        repository.cancel(subscription.getSubscriptionId(), userId);
+
+        assertNotEquals(before, currentTag());
+    }
+
+    @Test
+    void shouldChangeAfterRenewal() {
+        SubscriptionRenewalJob renewalJob = new SubscriptionRenewalJob(
+                jdbcTemplate, new TransactionTemplate(transactionManager), new SimpleMeterRegistry(), 500);
+        String before = currentTag();
+
+        // A day past the payment date makes the subscription due
+        assertEquals(1, renewalJob.renewDue(subscription.getNextPaymentDate().plusDays(1)));
+
+        assertNotEquals(before, currentTag());
+    }
+
+    @Test
+    void shouldChangeAfterInsert() {
+        String before = currentTag();
+
+        repository.insertAll(List.of(subscription("Spotify")));
+
+        assertNotEquals(before, currentTag());
+    }
+
+    @Test
+    void shouldStayTheSameWithoutWrites() {
+        assertEquals(currentTag(), currentTag());
+    }
+
+    private String currentTag() {
+        entityManager.flush();
+        // Writes outside JPA leave managed entities stale, so the next read starts clean
+        entityManager.clear();
+        return eTags.forListing(userId.getValue().toString()).orElseThrow();
+    }
+
+    private Subscription subscription(String name) {
+        return Subscription.create(
+                SubscriptionId.newId(),
+                userId,
+                name,
+                new Money(new BigDecimal("19.99"), Currency.getInstance("PLN")),
+                BillingCycle.MONTHLY,
+                LocalDate.now().plusDays(10),
+                true);
+    }
+}
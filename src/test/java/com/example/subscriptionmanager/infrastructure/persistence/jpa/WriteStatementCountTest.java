@@ -0,0 +1,159 @@
+package com.example.subscriptionmanager.infrastructure.persistence.jpa;
+
+import com.example.subscriptionmanager.application.dto.CreateSubscriptionCommand;
+import com.example.subscriptionmanager.application.dto.RegisterUserCommand;
+import com.example.subscriptionmanager.application.usecase.AddSubscriptionUseCase;
+import com.example.subscriptionmanager.application.usecase.JwtService;
+import com.example.subscriptionmanager.application.usecase.RegisterUserUseCase;
+import com.example.subscriptionmanager.domain.model.*;
+import com.example.subscriptionmanager.infrastructure.persistence.jdbc.JdbcSubscriptionBatchInserter;
+import com.example.subscriptionmanager.infrastructure.persistence.jdbc.JdbcSubscriptionReader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Counts the SQL statements each write issues against an in-memory database.
+ * The cost summary upsert is Postgres-only SQL, so that repository is mocked and not counted.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({JpaSubscriptionRepository.class, JpaUserRepository.class, SubscriptionEntityMapper.class})
+class WriteStatementCountTest {
+
+    @Autowired
+    private JpaSubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private JpaUserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private SpringDataSubscriptionCostSummaryRepository costSummaryRepository;
+
+    @MockitoBean
+    private JdbcSubscriptionBatchInserter batchInserter;
+
+    @MockitoBean
+    private JdbcSubscriptionReader jdbcReader;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldInsertNewSubscriptionWithoutMerging() {
+        AddSubscriptionUseCase useCase = new AddSubscriptionUseCase(subscriptionRepository);
+
+        useCase.execute(new CreateSubscriptionCommand(
+                UUID.randomUUID().toString(),
+                "Netflix",
+                29.99,
+                "PLN",
+                "MONTHLY",
+                LocalDate.now().plusDays(10),
+                true));
+        entityManager.flush();
+
+        // select ... for update finds nothing, then the insert without a second select by merge
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+        verify(costSummaryRepository).addToSummary(any(), eq("PLN"), eq("MONTHLY"), any(), eq(1L));
+    }
+
+    @Test
+    void shouldLockAndUpdateExistingSubscription() {
+        Subscription created = subscriptionRepository.save(Subscription.create(
+                SubscriptionId.newId(),
+                UserId.newId(),
+                "Spotify",
+                new Money(new BigDecimal("19.99"), Currency.getInstance("PLN")),
+                BillingCycle.MONTHLY,
+                LocalDate.now().plusDays(10),
+                true));
+        entityManager.flush();
+        entityManager.clear();
+
+        Subscription stored = subscriptionRepository.findById(created.getSubscriptionId()).orElseThrow();
+        stored.cancel();
+        entityManager.clear();
+        statistics.clear();
+
+        subscriptionRepository.save(stored);
+        entityManager.flush();
+
+        // select ... for update, then the update itself
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityInsertCount());
+        assertEquals(1, statistics.getEntityUpdateCount());
+    }
+
+    @Test
+    void shouldUpdateWhenSameCreatedInstanceIsSavedAgain() {
+        Subscription created = Subscription.create(
+                SubscriptionId.newId(),
+                UserId.newId(),
+                "Spotify",
+                new Money(new BigDecimal("19.99"), Currency.getInstance("PLN")),
+                BillingCycle.MONTHLY,
+                LocalDate.now().plusDays(10),
+                true);
+        subscriptionRepository.save(created);
+        entityManager.flush();
+        entityManager.clear();
+
+        created.cancel();
+        subscriptionRepository.save(created);
+        entityManager.flush();
+
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(1, statistics.getEntityUpdateCount());
+    }
+
+    @Test
+    void shouldRegisterUserWithEmailCheckAndInsertOnly() {
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        JwtService jwtService = mock(JwtService.class);
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+        when(jwtService.generateToken(anyString(), anyString())).thenReturn("token");
+        RegisterUserUseCase useCase = new RegisterUserUseCase(userRepository, passwordEncoder, jwtService);
+
+        useCase.execute(new RegisterUserCommand("user@example.com", "secret123"));
+        entityManager.flush();
+
+        // exists check by email, lookup by id, then the insert
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.subscriptionmanager.infrastructure.persistence.memory;
+
+import com.example.subscriptionmanager.domain.model.*;
+import com.example.subscriptionmanager.infrastructure.persistence.jpa.JpaSubscriptionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class InMemorySubscriptionRepositoryTest {
+
+    private final UserId userId = UserId.newId();
+    private JpaSubscriptionRepository delegate;
+    private InMemorySubscriptionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(JpaSubscriptionRepository.class);
+        when(delegate.findByUserId(userId)).thenReturn(List.of());
+        repository = new InMemorySubscriptionRepository(delegate, new SimpleMeterRegistry(), 100, 3);
+    }
+
+    @Test
+    void shouldServeReadsFromMemoryAfterFirstLoad() {
+        repository.save(newSubscription());
+
+        assertEquals(1, repository.findByUserId(userId).size());
+        assertEquals(1, repository.findActiveByUserId(userId).size());
+        assertEquals(1, repository.findActiveCostGroupsByUserId(userId).size());
+
+        verify(delegate, times(1)).findByUserId(userId);
+    }
+
+    @Test
+    void shouldNotBlockStripeWhileLoadingBucket() throws Exception {
+        UserId slowUser = userOnSameStripe();
+        repository.findByUserId(userId);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.findByUserId(slowUser)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return List.of();
+        });
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<Subscription>> slowRead = executor.submit(() -> repository.findByUserId(slowUser));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            // The other user on the stripe keeps reading and writing while the query runs
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                repository.save(newSubscription());
+                assertEquals(1, repository.findByUserId(userId).size());
+            });
+
+            release.countDown();
+            assertTrue(slowRead.get(5, TimeUnit.SECONDS).isEmpty());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldCoalesceChangesIntoSingleInsert() {
+        Subscription subscription = repository.save(newSubscription());
+        assertEquals(CancellationResult.CANCELLED, repository.cancel(subscription.getSubscriptionId(), userId));
+
+        repository.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Subscription>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(delegate).insertAll(inserted.capture());
+        assertEquals(1, inserted.getValue().size());
+        assertEquals(SubscriptionStatus.CANCELLED, inserted.getValue().get(0).getStatus());
+        verify(delegate, never()).save(any());
+    }
+
+    @Test
+    void shouldUpdateAfterInsertWasFlushed() {
+        Subscription subscription = repository.save(newSubscription());
+        repository.flush();
+
+        repository.cancel(subscription.getSubscriptionId(), userId);
+        repository.flush();
+
+        verify(delegate, times(1)).insertAll(anyList());
+        verify(delegate, times(1)).save(any());
+    }
+
+    @Test
+    void shouldWriteNothingForSubscriptionDeletedBeforeFlush() {
+        Subscription subscription = repository.save(newSubscription());
+        repository.delete(subscription.getSubscriptionId(), userId);
+
+        repository.flush();
+
+        verify(delegate, never()).insertAll(anyList());
+        verify(delegate, never()).delete(any(), any());
+        assertTrue(repository.findByUserId(userId).isEmpty());
+    }
+
+    @Test
+    void shouldNotDeleteSubscriptionOfAnotherUser() {
+        Subscription subscription = repository.save(newSubscription());
+
+        repository.delete(subscription.getSubscriptionId(), UserId.newId());
+        repository.flush();
+
+        assertEquals(1, repository.findByUserId(userId).size());
+        verify(delegate, never()).delete(any(), any());
+    }
+
+    @Test
+    void shouldRetryFailedBatchOnNextFlush() {
+        doThrow(new IllegalStateException("database down"))
+                .doNothing()
+                .when(delegate).insertAll(anyList());
+        repository.save(newSubscription());
+
+        repository.flush();
+        repository.flush();
+
+        verify(delegate, times(2)).insertAll(anyList());
+    }
+
+    @Test
+    void shouldRetryOnlyWritesThatFailed() {
+        Subscription existing = repository.save(newSubscription());
+        repository.flush();
+        clearInvocations(delegate);
+
+        repository.save(newSubscription());
+        repository.cancel(existing.getSubscriptionId(), userId);
+        doThrow(new IllegalStateException("database down"))
+                .doAnswer(invocation -> invocation.getArgument(0))
+                .when(delegate).save(any());
+
+        repository.flush();
+        repository.flush();
+
+        // The committed insert is not repeated, only the failed update is
+        verify(delegate, times(1)).insertAll(anyList());
+        verify(delegate, times(2)).save(any());
+
+        repository.flush();
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    void shouldInsertGoodRowsWhenOneRowIsRejected() {
+        Subscription rejected = newSubscription();
+        doThrow(new DataIntegrityViolationException("value too long"))
+                .when(delegate).insertAll(argThat(subscriptions -> subscriptions.contains(rejected)));
+        repository.save(newSubscription());
+        repository.save(rejected);
+
+        repository.flush();
+
+        // The whole batch first, then each row on its own
+        verify(delegate, times(3)).insertAll(anyList());
+    }
+
+    @Test
+    void shouldDropWriteAfterMaxAttempts() {
+        Subscription subscription = repository.save(newSubscription());
+        repository.flush();
+        repository.cancel(subscription.getSubscriptionId(), userId);
+        doThrow(new IllegalStateException("Subscription no longer exists")).when(delegate).save(any());
+
+        for (int i = 0; i < 5; i++) {
+            repository.flush();
+        }
+
+        verify(delegate, times(3)).save(any());
+    }
+
+    @Test
+    void shouldReportCancellationOutcomes() {
+        Subscription subscription = repository.save(newSubscription());
+
+        assertEquals(CancellationResult.NOT_FOUND, repository.cancel(SubscriptionId.newId(), userId));
+        assertEquals(CancellationResult.CANCELLED, repository.cancel(subscription.getSubscriptionId(), userId));
+        assertEquals(CancellationResult.ALREADY_CANCELLED,
+                repository.cancel(subscription.getSubscriptionId(), userId));
+    }
+
+    private UserId userOnSameStripe() {
+        int stripe = Math.floorMod(userId.hashCode(), InMemorySubscriptionRepository.STRIPES);
+        while (true) {
+            UserId other = UserId.newId();
+            if (Math.floorMod(other.hashCode(), InMemorySubscriptionRepository.STRIPES) == stripe) {
+                return other;
+            }
+        }
+    }
+
+    private Subscription newSubscription() {
+        return Subscription.create(
+                SubscriptionId.newId(),
+                userId,
+                "Netflix",
+                new Money(new BigDecimal("29.99"), Currency.getInstance("PLN")),
+                BillingCycle.MONTHLY,
+                LocalDate.now().plusDays(5),
+                true);
+    }
+}
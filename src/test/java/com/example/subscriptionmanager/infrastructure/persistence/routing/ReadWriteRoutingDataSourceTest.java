@@ -0,0 +1,91 @@
+package com.example.subscriptionmanager.infrastructure.persistence.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReadWriteRoutingDataSourceTest {
+    private static final String USER_ID = "7f1c2a52-3a8e-4a0b-9b39-2f3c1c0f2e11";
+
+    private ReplicaLagMonitor lagMonitor;
+    private RecentWriters recentWriters;
+    private ReadWriteRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        lagMonitor = mock(ReplicaLagMonitor.class);
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        recentWriters = new RecentWriters(Duration.ofSeconds(5), 100);
+        routing = new ReadWriteRoutingDataSource(
+                mock(DataSource.class), mock(DataSource.class), lagMonitor, recentWriters);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(USER_ID, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldSendReadOnlyTransactionToReplica() {
+        readOnlyTransaction();
+
+        assertEquals(ReadWriteRoutingDataSource.Route.REPLICA, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void shouldSendWriteTransactionToPrimaryAndRecordWriter() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertEquals(ReadWriteRoutingDataSource.Route.PRIMARY, routing.determineCurrentLookupKey());
+        assertTrue(recentWriters.wroteRecently(USER_ID));
+    }
+
+    @Test
+    void shouldUsePrimaryOutsideTransaction() {
+        assertEquals(ReadWriteRoutingDataSource.Route.PRIMARY, routing.determineCurrentLookupKey());
+        assertFalse(recentWriters.wroteRecently(USER_ID));
+    }
+
+    @Test
+    void shouldUsePrimaryWhileReplicaLags() {
+        when(lagMonitor.isReplicaUsable()).thenReturn(false);
+        readOnlyTransaction();
+
+        assertEquals(ReadWriteRoutingDataSource.Route.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void shouldKeepRecentWriterOnPrimary() {
+        recentWriters.recordWrite(USER_ID);
+        readOnlyTransaction();
+
+        assertEquals(ReadWriteRoutingDataSource.Route.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void shouldSendAnonymousReadToReplica() {
+        SecurityContextHolder.clearContext();
+        readOnlyTransaction();
+
+        assertEquals(ReadWriteRoutingDataSource.Route.REPLICA, routing.determineCurrentLookupKey());
+    }
+
+    private static void readOnlyTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+}
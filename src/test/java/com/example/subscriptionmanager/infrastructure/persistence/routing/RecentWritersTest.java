@@ -0,0 +1,43 @@
+package com.example.subscriptionmanager.infrastructure.persistence.routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecentWritersTest {
+    private final AtomicLong nanos = new AtomicLong();
+    private final RecentWriters recentWriters = new RecentWriters(Duration.ofSeconds(5), 100, nanos::get);
+
+    @Test
+    void shouldRememberWriterWithinWindow() {
+        recentWriters.recordWrite("alice");
+
+        nanos.addAndGet(Duration.ofSeconds(4).toNanos());
+
+        assertTrue(recentWriters.wroteRecently("alice"));
+        assertFalse(recentWriters.wroteRecently("bob"));
+    }
+
+    @Test
+    void shouldForgetWriterAfterWindow() {
+        recentWriters.recordWrite("alice");
+
+        nanos.addAndGet(Duration.ofSeconds(6).toNanos());
+
+        assertFalse(recentWriters.wroteRecently("alice"));
+    }
+
+    @Test
+    void shouldRestartWindowOnEveryWrite() {
+        recentWriters.recordWrite("alice");
+        nanos.addAndGet(Duration.ofSeconds(4).toNanos());
+        recentWriters.recordWrite("alice");
+
+        nanos.addAndGet(Duration.ofSeconds(4).toNanos());
+
+        assertTrue(recentWriters.wroteRecently("alice"));
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.subscriptionmanager.infrastructure.renewal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the renewal job against Postgres, whose FOR UPDATE SKIP LOCKED it relies on.
+ * Chunks commit in their own transactions, so rows are committed rather than kept in a test transaction.
+ * Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SubscriptionRenewalJobTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:15-alpine");
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 6, 15);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from subscriptions");
+    }
+
+    @Test
+    void shouldSkipTrialsCancelledAndNonRenewingSubscriptions() {
+        LocalDate overdue = TODAY.minusDays(3);
+        UUID trial = insert("TRIAL", overdue, true, "ACTIVE");
+        UUID cancelled = insert("MONTHLY", overdue, true, "CANCELLED");
+        UUID manual = insert("MONTHLY", overdue, false, "ACTIVE");
+        UUID due = insert("MONTHLY", overdue, true, "ACTIVE");
+
+        assertEquals(1, job(500).renewDue(TODAY));
+
+        assertEquals(overdue, paymentDate(trial));
+        assertEquals(overdue, paymentDate(cancelled));
+        assertEquals(overdue, paymentDate(manual));
+        assertEquals(overdue.plusMonths(1), paymentDate(due));
+        assertEquals(0L, version(trial));
+        assertEquals(1L, version(due));
+    }
+
+    @Test
+    void shouldAdvanceSeveralCyclesOverdueDateToTodayOrLater() {
+        UUID monthly = insert("MONTHLY", TODAY.minusMonths(5).minusDays(3), true, "ACTIVE");
+        UUID yearly = insert("YEARLY", TODAY.minusYears(3).plusDays(1), true, "ACTIVE");
+        UUID dueToday = insert("MONTHLY", TODAY, true, "ACTIVE");
+
+        assertEquals(2, job(500).renewDue(TODAY));
+
+        assertEquals(TODAY.minusDays(3).plusMonths(1), paymentDate(monthly));
+        assertEquals(TODAY.plusDays(1), paymentDate(yearly));
+        // Not before today, so not due yet
+        assertEquals(TODAY, paymentDate(dueToday));
+    }
+
+    @Test
+    void shouldContinuePastFullChunksAndPublishMetrics() {
+        for (int i = 0; i < 5; i++) {
+            insert("MONTHLY", TODAY.minusDays(i + 1), true, "ACTIVE");
+        }
+
+        assertEquals(5, job(2).renewDue(TODAY));
+
+        assertEquals(5.0, meterRegistry.get("subscriptions.renewals.processed").counter().count());
+        // Two full chunks, one partial chunk
+        assertEquals(3L, meterRegistry.get("subscriptions.renewals.chunk").timer().count());
+        assertEquals(0.0, meterRegistry.get("subscriptions.renewals.backlog").gauge().value());
+    }
+
+    @Test
+    void shouldSkipRowLockedElsewhereAndReportItAsBacklog() throws Exception {
+        UUID locked = insert("MONTHLY", TODAY.minusDays(1), true, "ACTIVE");
+        insert("MONTHLY", TODAY.minusDays(2), true, "ACTIVE");
+        CountDownLatch lockHeld = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> holder = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                jdbcTemplate.queryForList("select id from subscriptions where id = ? for update", locked);
+                lockHeld.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(lockHeld.await(10, TimeUnit.SECONDS));
+
+            assertEquals(1, job(500).renewDue(TODAY));
+
+            assertEquals(1.0, meterRegistry.get("subscriptions.renewals.processed").counter().count());
+            assertEquals(1.0, meterRegistry.get("subscriptions.renewals.backlog").gauge().value());
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+        assertEquals(TODAY.minusDays(1), paymentDate(locked));
+    }
+
+    @Test
+    void shouldNeverAdvanceSameRowTwiceWhenRunConcurrently() throws Exception {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            ids.add(insert("MONTHLY", TODAY.minusDays(i % 10 + 1), true, "ACTIVE"));
+        }
+        SubscriptionRenewalJob first = job(2);
+        SubscriptionRenewalJob second = job(2);
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> firstRun = executor.submit(() -> {
+                start.await();
+                return first.renewDue(TODAY);
+            });
+            Future<Integer> secondRun = executor.submit(() -> {
+                start.await();
+                return second.renewDue(TODAY);
+            });
+            start.countDown();
+
+            assertEquals(40, firstRun.get(30, TimeUnit.SECONDS) + secondRun.get(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        for (UUID id : ids) {
+            assertEquals(1L, version(id));
+        }
+    }
+
+    private SubscriptionRenewalJob job(int chunkSize) {
+        return new SubscriptionRenewalJob(
+                jdbcTemplate, new TransactionTemplate(transactionManager), meterRegistry, chunkSize);
+    }
+
+    private UUID insert(String billingCycle, LocalDate nextPaymentDate, boolean autoRenewal, String status) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update(
+                "insert into subscriptions (id, user_id, name, price_amount, price_currency, billing_cycle, "
+                        + "next_payment_date, auto_renewal, status) values (?, ?, 'Renewal', ?, 'PLN', ?, ?, ?, ?)",
+                id, UUID.randomUUID(), new BigDecimal("9.99"), billingCycle,
+                Date.valueOf(nextPaymentDate), autoRenewal, status);
+        return id;
+    }
+
+    private LocalDate paymentDate(UUID id) {
+        return jdbcTemplate.queryForObject("select next_payment_date from subscriptions where id = ?", LocalDate.class, id);
+    }
+
+    private long version(UUID id) {
+        Long version = jdbcTemplate.queryForObject("select version from subscriptions where id = ?", Long.class, id);
+        return version == null ? -1L : version;
+    }
+}
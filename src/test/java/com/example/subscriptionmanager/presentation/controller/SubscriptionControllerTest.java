@@ -0,0 +1,183 @@
+package com.example.subscriptionmanager.presentation.controller;
+
+import com.example.subscriptionmanager.application.query.InvalidQueryException;
+import com.example.subscriptionmanager.application.usecase.*;
+import com.example.subscriptionmanager.domain.model.CancellationResult;
+import com.example.subscriptionmanager.presentation.mapper.SubscriptionMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Web layer tests for SubscriptionController with the use cases stubbed.
+ * Security filters are off; the user is put into the security context directly.
+ */
+@WebMvcTest(SubscriptionController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import(SubscriptionMapper.class)
+class SubscriptionControllerTest {
+    private static final String USER_ID = UUID.randomUUID().toString();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AddSubscriptionUseCase addSubscriptionUseCase;
+
+    @MockitoBean
+    private CancelSubscriptionUseCase cancelSubscriptionUseCase;
+
+    @MockitoBean
+    private ListSubscriptionsUseCase listSubscriptionsUseCase;
+
+    @MockitoBean
+    private CalculateMonthlyCostUseCase calculateMonthlyCostUseCase;
+
+    @MockitoBean
+    private ForecastSpendingUseCase forecastSpendingUseCase;
+
+    @MockitoBean
+    private ImportSubscriptionsUseCase importSubscriptionsUseCase;
+
+    @MockitoBean
+    private GetSubscriptionsETagUseCase getSubscriptionsETagUseCase;
+
+    @MockitoBean
+    private ExportSubscriptionsUseCase exportSubscriptionsUseCase;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    @BeforeEach
+    void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(USER_ID, null, List.of()));
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldAnswerNotModifiedForMatchingListingTagWithoutListing() throws Exception {
+        when(getSubscriptionsETagUseCase.forListing(USER_ID)).thenReturn(Optional.of("s3-7-2026"));
+
+        mockMvc.perform(get("/api/subscriptions").header(HttpHeaders.IF_NONE_MATCH, "\"s3-7-2026\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"s3-7-2026\""));
+
+        verifyNoInteractions(listSubscriptionsUseCase);
+    }
+
+    @Test
+    void shouldAnswerNotModifiedForMatchingActiveListingTagWithoutListing() throws Exception {
+        when(getSubscriptionsETagUseCase.forListing(USER_ID)).thenReturn(Optional.of("s3-7-2026"));
+
+        mockMvc.perform(get("/api/subscriptions/active").header(HttpHeaders.IF_NONE_MATCH, "\"s3-7-2026\""))
+                .andExpect(status().isNotModified());
+
+        verifyNoInteractions(listSubscriptionsUseCase);
+    }
+
+    @Test
+    void shouldAnswerNotModifiedForMatchingCostTagWithoutCalculating() throws Exception {
+        when(getSubscriptionsETagUseCase.forMonthlyCost(USER_ID)).thenReturn(Optional.of("c3-7-2026-0"));
+
+        mockMvc.perform(get("/api/subscriptions/cost/monthly").header(HttpHeaders.IF_NONE_MATCH, "\"c3-7-2026-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"c3-7-2026-0\""));
+
+        verifyNoInteractions(calculateMonthlyCostUseCase);
+    }
+
+    @Test
+    void shouldListAgainWhenTagChanged() throws Exception {
+        when(getSubscriptionsETagUseCase.forListing(USER_ID)).thenReturn(Optional.of("s4-8-2026"));
+
+        mockMvc.perform(get("/api/subscriptions").header(HttpHeaders.IF_NONE_MATCH, "\"s3-7-2026\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"s4-8-2026\""));
+
+        verify(listSubscriptionsUseCase).execute(eq(USER_ID), any(), isNull(), isNull());
+    }
+
+    @Test
+    void shouldListWithoutTagWhenETagsDisabled() throws Exception {
+        when(getSubscriptionsETagUseCase.forListing(USER_ID)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/subscriptions").header(HttpHeaders.IF_NONE_MATCH, "\"s3-7-2026\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+
+        verify(listSubscriptionsUseCase).execute(eq(USER_ID), any(), isNull(), isNull());
+    }
+
+    @Test
+    void shouldAnswerNoContentWhenCancelled() throws Exception {
+        String subscriptionId = UUID.randomUUID().toString();
+        when(cancelSubscriptionUseCase.execute(USER_ID, subscriptionId)).thenReturn(CancellationResult.CANCELLED);
+
+        mockMvc.perform(delete("/api/subscriptions/{id}", subscriptionId))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void shouldAnswerNotFoundForMissingOrForeignSubscription() throws Exception {
+        String subscriptionId = UUID.randomUUID().toString();
+        when(cancelSubscriptionUseCase.execute(USER_ID, subscriptionId)).thenReturn(CancellationResult.NOT_FOUND);
+
+        mockMvc.perform(delete("/api/subscriptions/{id}", subscriptionId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldAnswerConflictWhenAlreadyCancelled() throws Exception {
+        String subscriptionId = UUID.randomUUID().toString();
+        when(cancelSubscriptionUseCase.execute(USER_ID, subscriptionId))
+                .thenReturn(CancellationResult.ALREADY_CANCELLED);
+
+        mockMvc.perform(delete("/api/subscriptions/{id}", subscriptionId))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void shouldRejectInvalidListingQueryWithBadRequest() throws Exception {
+        when(getSubscriptionsETagUseCase.forListing(USER_ID)).thenReturn(Optional.empty());
+        when(listSubscriptionsUseCase.execute(eq(USER_ID), any(), eq("garbage"), isNull()))
+                .thenThrow(new InvalidQueryException("Invalid cursor: garbage"));
+
+        mockMvc.perform(get("/api/subscriptions").param("cursor", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldRejectUnknownExportFormatWithBadRequest() throws Exception {
+        when(exportSubscriptionsUseCase.format("xlsx"))
+                .thenThrow(new InvalidQueryException("Unknown export format: xlsx"));
+
+        mockMvc.perform(get("/api/subscriptions/export").param("format", "xlsx"))
+                .andExpect(status().isBadRequest());
+
+        verify(exportSubscriptionsUseCase, never()).exportForUser(any(), any(), any());
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.subscriptionmanager.presentation.mapper;
+
+import com.example.subscriptionmanager.application.dto.SubscriptionImportRow;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubscriptionCsvReaderTest {
+    private static final String HEADER = "name,price,currency,billingCycle,nextPaymentDate,autoRenewal\n";
+
+    @Test
+    void shouldReadRowsAfterHeader() {
+        SubscriptionCsvReader reader = reader(HEADER
+                + "Netflix,29.99,PLN,MONTHLY,2030-01-15,true\n"
+                + "Spotify,19.99,PLN,MONTHLY,2030-01-20,\n");
+
+        assertEquals(new SubscriptionImportRow("Netflix", "29.99", "PLN", "MONTHLY", "2030-01-15", "true"), reader.next());
+        assertEquals(new SubscriptionImportRow("Spotify", "19.99", "PLN", "MONTHLY", "2030-01-20", ""), reader.next());
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    void shouldReadQuotedFieldsWithCommasAndEscapedQuotes() {
+        SubscriptionCsvReader reader = reader(HEADER
+                + "\"Disney+, \"\"Premium\"\"\",49.99,PLN,YEARLY,2030-01-15,false\n");
+
+        assertEquals("Disney+, \"Premium\"", reader.next().name());
+    }
+
+    @Test
+    void shouldAcceptByteOrderMarkAndSkipBlankLines() {
+        SubscriptionCsvReader reader = reader("\uFEFF" + HEADER
+                + "\n"
+                + "Netflix,29.99,PLN,MONTHLY,2030-01-15,true\n"
+                + "   \n");
+
+        assertEquals("Netflix", reader.next().name());
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    void shouldRejectWrongHeader() {
+        assertThrows(IllegalArgumentException.class, () -> reader("name,price\nNetflix,29.99\n"));
+        assertThrows(IllegalArgumentException.class, () -> reader(""));
+    }
+
+    @Test
+    void shouldRejectRowWithWrongColumnCountAndContinue() {
+        SubscriptionCsvReader reader = reader(HEADER
+                + "Netflix,29.99,PLN\n"
+                + "Spotify,19.99,PLN,MONTHLY,2030-01-20,true,extra\n"
+                + "HBO,39.99,PLN,MONTHLY,2030-01-20,true\n");
+
+        assertThrows(IllegalArgumentException.class, reader::next);
+        assertThrows(IllegalArgumentException.class, reader::next);
+        assertEquals("HBO", reader.next().name());
+    }
+
+    @Test
+    void shouldRejectUnterminatedQuote() {
+        SubscriptionCsvReader reader = reader(HEADER + "\"Netflix,29.99,PLN,MONTHLY,2030-01-15,true\n");
+
+        assertThrows(IllegalArgumentException.class, reader::next);
+    }
+
+    private static SubscriptionCsvReader reader(String csv) {
+        return new SubscriptionCsvReader(new BufferedReader(new StringReader(csv)));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.subscriptionmanager.presentation.mapper;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubscriptionJsonReaderTest {
+    private final JsonMapper objectMapper = JsonMapper.builder().build();
+
+    @Test
+    void shouldReadArrayElementsOneByOne() {
+        SubscriptionJsonReader reader = reader("""
+                [{"name":"Netflix","price":"29.99","currency":"PLN","billingCycle":"MONTHLY",
+                  "nextPaymentDate":"2030-01-15","autoRenewal":"true"},
+                 {"name":"Spotify","price":19.99,"currency":"PLN","billingCycle":"MONTHLY",
+                  "nextPaymentDate":"2030-01-20"}]
+                """);
+
+        assertEquals("Netflix", reader.next().name());
+        assertEquals("19.99", reader.next().price());
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    void shouldRejectElementThatDoesNotBindAndContinue() {
+        SubscriptionJsonReader reader = reader("""
+                [{"name":{"nested":true}}, 42, {"name":"HBO"}]
+                """);
+
+        assertThrows(IllegalArgumentException.class, reader::next);
+        assertThrows(IllegalArgumentException.class, reader::next);
+        assertEquals("HBO", reader.next().name());
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    void shouldStopAtMalformedJson() {
+        SubscriptionJsonReader reader = reader("[{\"name\":\"Netflix\"}, {\"name\": ");
+
+        assertEquals("Netflix", reader.next().name());
+        assertThrows(IllegalArgumentException.class, reader::next);
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    void shouldRejectInputThatIsNotAnArray() {
+        assertThrows(IllegalArgumentException.class, () -> reader("{\"name\":\"Netflix\"}"));
+        assertThrows(IllegalArgumentException.class, () -> reader(""));
+    }
+
+    private SubscriptionJsonReader reader(String json) {
+        return new SubscriptionJsonReader(objectMapper, new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}